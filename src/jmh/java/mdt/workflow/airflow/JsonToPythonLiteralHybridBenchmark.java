@@ -0,0 +1,128 @@
+package mdt.workflow.airflow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+/**
+ * {@link JsonToPythonLiteralHybrid}의 단일 패스 렌더러와 이전 구현
+ * ({@link LegacyJsonToPythonLiteralHybrid})의 성능을 비교한다.
+ * <ul>
+ * 	<li>{@code wide}: 100,000개의 센서 샘플로 구성된 배열.
+ * 	<li>{@code deep}: 200 단계로 중첩된 객체.
+ * 	<li>{@code small}: 일반적인 task 인자 크기의 작은 객체.
+ * </ul>
+ * 실행: {@code ./gradlew jmh}
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonToPythonLiteralHybridBenchmark {
+	@Param({"wide", "deep", "small"})
+	private String m_shape;
+
+	private String m_json;
+	private JsonNode m_node;
+
+	@Setup
+	public void setup() throws IOException {
+		m_json = switch ( m_shape ) {
+			case "wide" -> buildWide(100_000);
+			case "deep" -> buildDeep(200);
+			default -> "{\"name\": \"thickness\", \"limits\": [0.5, 1.5], \"unit\": \"mm\", \"enabled\": true}";
+		};
+		m_node = new ObjectMapper().readTree(m_json);
+	}
+
+	@Benchmark
+	public String legacy() throws IOException {
+		return LegacyJsonToPythonLiteralHybrid.convertToPythonLiteralHybrid(m_json);
+	}
+
+	@Benchmark
+	public String singlePass() throws IOException {
+		return JsonToPythonLiteralHybrid.convertToPythonLiteralHybrid(m_json);
+	}
+
+	/**
+	 * JSON 파싱과 결과 문자열 생성을 제외한 순수 렌더링 비용.
+	 */
+	@Benchmark
+	public void singlePassRenderOnly(Blackhole bh) throws IOException {
+		JsonToPythonLiteralHybrid.render(m_node, new BlackholeWriter(bh));
+	}
+
+	private static String buildWide(int count) {
+		StringBuilder builder = new StringBuilder("{\"sensor\": {\"samples\": [");
+		for ( int i = 0; i < count; ++i ) {
+			if ( i > 0 ) {
+				builder.append(", ");
+			}
+			builder.append(String.format("{\"t\": %d, \"v\": [%s, %d], \"tag\": \"s'%d\"}", i, i * 0.5, i % 7, i));
+		}
+		return builder.append("]}}").toString();
+	}
+
+	private static String buildDeep(int depth) {
+		StringBuilder builder = new StringBuilder();
+		for ( int i = 0; i < depth; ++i ) {
+			builder.append(String.format("{\"level\": %d, \"label\": \"node-%d\", \"child\": ", i, i));
+		}
+		builder.append("null");
+		builder.append("}".repeat(depth));
+		return builder.toString();
+	}
+
+	private static final class BlackholeWriter extends Writer {
+		private final Blackhole m_bh;
+
+		BlackholeWriter(Blackhole bh) {
+			m_bh = bh;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			m_bh.consume(cbuf);
+			m_bh.consume(len);
+		}
+
+		@Override
+		public void write(int c) {
+			m_bh.consume(c);
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			m_bh.consume(str);
+			m_bh.consume(len);
+		}
+
+		@Override
+		public void flush() { }
+
+		@Override
+		public void close() { }
+	}
+}
@@ -1,5 +1,13 @@
 package mdt.workflow;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
 import mdt.model.ResourceNotFoundException;
 
 /**
@@ -10,4 +18,51 @@ public interface WorkflowInstanceManagerProvider extends WorkflowInstanceManager
 	public String getWorkflowScript(String wfModelId) throws ResourceNotFoundException;
 	public void onWorkflowModelAdded(WorkflowModel wfModel) throws MDTWorkflowInstanceManagerException;
 	public void onWorkflowModelRemoved(String wfModelId) throws MDTWorkflowInstanceManagerException;
+	
+	/**
+	 * 주어진 워크플로우 모델들에 대해 백엔드에 등록된 워크플로우 스크립트를 모두 다시 생성한다.
+	 * 
+	 * @param wfModels	대상 워크플로우 모델 목록.
+	 * @return	스크립트 내용이 실제로 변경된 모델의 수.
+	 */
+	public int regenerateWorkflowScripts(List<WorkflowModel> wfModels) throws MDTWorkflowInstanceManagerException;
+	
+	/**
+	 * 주어진 워크플로우 인스턴스들을 모두 종료시킨다.
+	 * <p>
+	 * {@link WorkflowInstanceManager#stopWorkflow(String)}를 인스턴스마다 호출하는 것과 같으나,
+	 * 구현에 따라 여러 인스턴스의 종료 요청이 동시에 처리될 수 있다.
+	 * 
+	 * @param wfIds	종료시킬 워크플로우 인스턴스 식별자 목록.
+	 * @throws ResourceNotFoundException	식별자에 해당하는 워크플로우 인스턴스가 없는 경우.
+	 */
+	public void stopWorkflowAll(List<String> wfIds) throws ResourceNotFoundException;
+	
+	/**
+	 * 주어진 시각 이후에 종료된 (COMPLETED 또는 FAILED) 워크플로우 인스턴스들의 식별자와 종료 시각을 반환한다.
+	 * <p>
+	 * task 정보는 읽지 않으며 종료된 인스턴스만 백엔드에 질의하므로, {@link #getWorkflowAll()}로 모든
+	 * 인스턴스를 읽어 거르는 것보다 백엔드의 부담이 작다. 종료 시각은 {@link Workflow#getFinishTime()}과
+	 * 같은 기준이다.
+	 * 
+	 * @param finishedSince	종료 시각 하한 (포함). {@code null}인 경우는 종료된 모든 인스턴스.
+	 * @return	워크플로우 인스턴스 식별자별 종료 시각.
+	 */
+	public Map<String,LocalDateTime> listFinishedWorkflows(@Nullable LocalDateTime finishedSince);
+	
+	/**
+	 * 주어진 워크플로우 인스턴스에 포함된 task의 로그를 주어진 {@link Writer}로 출력한다.
+	 * <p>
+	 * 로그는 백엔드로부터 읽히는 대로 조각 단위로 출력되므로, 전체 로그를 메모리에 모으지 않는다.
+	 * 
+	 * @param wfId		워크플로우 인스턴스 식별자.
+	 * @param taskId	대상 task 식별자.
+	 * @param tryNumber	대상 시도 번호. {@code null}인 경우에는 가장 최근 시도의 로그를 출력한다.
+	 * @param tail		출력할 마지막 줄 수. {@code null}인 경우에는 전체 로그를 출력한다.
+	 * @param follow	true인 경우 task가 종료될 때까지 새로 추가되는 로그를 계속 출력한다.
+	 * @param writer	로그를 출력할 대상.
+	 * @throws IOException	로그 출력에 실패한 경우.
+	 */
+	public void streamTaskLog(String wfId, String taskId, @Nullable Integer tryNumber, @Nullable Integer tail,
+								boolean follow, Writer writer) throws ResourceNotFoundException, IOException;
 }
@@ -1,14 +1,18 @@
 package mdt.workflow.airflow;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import utils.stream.KeyValueFStream;
 
+import mdt.workflow.model.Option;
 import mdt.workflow.model.TaskDescriptor;
 
 /**
@@ -18,8 +22,16 @@ import mdt.workflow.model.TaskDescriptor;
 @Getter @Setter
 @Accessors(prefix = "m_")
 public class AASOperationTaskSpec extends TaskSpec {
+	/** task를 deferrable operator로 생성할지 여부를 지정하는 옵션 이름. */
+	public static final String OPTION_DEFERRABLE = "deferrable";
+	private static final String OPTION_POLL = "poll";
+	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(10);
+	
 	private final String m_instanceId;
 	private final String m_submodelId;
+	// task 옵션으로 지정된 deferrable 여부. 지정되지 않은 경우는 null이며 DAG 설정을 따른다.
+	private @Nullable Boolean m_deferrableOption;
+	private Duration m_pollInterval = DEFAULT_POLL_INTERVAL;
 	
 	public AASOperationTaskSpec(String taskId, String instanceId, String submodelId,
 								List<TaskArgument> inputs, List<TaskArgument> outputs, Set<String> dependencies) {
@@ -29,6 +41,34 @@ public class AASOperationTaskSpec extends TaskSpec {
 		m_submodelId = submodelId;
 	}
 	
+	@Override
+	public String getStructureKey() {
+		return String.format("%s/%s:%s%s", super.getStructureKey(), m_instanceId, m_submodelId,
+							isDeferrable() ? "/deferrable" : "");
+	}
+	
+	/**
+	 * task가 deferrable operator로 생성되는지 여부를 반환한다.
+	 * <p>
+	 * deferrable operator는 AAS 연산을 시작시킨 후 연산 종료 확인을 Airflow triggerer에게
+	 * 넘기므로, 연산이 수행되는 동안 worker slot을 점유하지 않는다.
+	 *
+	 * @return	deferrable 여부.
+	 */
+	@Override
+	public boolean isDeferrable() {
+		return Boolean.TRUE.equals(m_deferrableOption);
+	}
+	
+	/**
+	 * deferrable operator가 연산 종료 여부를 확인하는 주기 (초)를 반환한다.
+	 *
+	 * @return	확인 주기.
+	 */
+	public long getPollIntervalSeconds() {
+		return Math.max(1, m_pollInterval.toSeconds());
+	}
+	
 	public static AASOperationTaskSpec from(TaskDescriptor task) {
 		String opPath=task.getOptions().get("operation").getValue();
 		String[] parts = opPath.split(":");
@@ -42,11 +82,22 @@ public class AASOperationTaskSpec extends TaskSpec {
 													.map((argId, arg) -> fromVariable(argId, arg))
 													.toList();
 		
-		return new AASOperationTaskSpec(task.getId(),
+		AASOperationTaskSpec spec = new AASOperationTaskSpec(task.getId(),
 							instanceId,
 							submodelIdShort,
 							inputs, outputs,
 							task.getDependencies());
+		
+		Option deferrable = task.getOptions().get(OPTION_DEFERRABLE);
+		if ( deferrable != null && deferrable.getValue() != null && !deferrable.getValue().isBlank() ) {
+			spec.m_deferrableOption = Boolean.parseBoolean(deferrable.getValue().trim());
+		}
+		Option poll = task.getOptions().get(OPTION_POLL);
+		if ( poll != null && poll.getValue() != null && !poll.getValue().isBlank() ) {
+			spec.m_pollInterval = parseDuration(poll.getValue().trim());
+		}
+		
+		return spec;
 
 	}
 }
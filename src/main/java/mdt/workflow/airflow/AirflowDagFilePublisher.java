@@ -0,0 +1,142 @@
+package mdt.workflow.airflow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+
+/**
+ * 생성된 Airflow DAG 파일을 DAG 폴더에 게시한다.
+ * <p>
+ * DAG 파일은 동일 폴더 내의 임시 파일에 먼저 기록된 후 원자적으로 rename되기 때문에
+ * Airflow scheduler가 기록 중인 파일을 읽는 일은 발생하지 않는다.
+ * 또한 기존 DAG 파일의 내용과 새 내용의 해시 값이 같은 경우에는 파일을 다시 쓰지 않으므로,
+ * 변경되지 않은 모델을 재등록하더라도 scheduler의 재파싱이 유발되지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AirflowDagFilePublisher {
+	private static final Logger s_logger = LoggerFactory.getLogger(AirflowDagFilePublisher.class);
+	private static final String DAG_FILE_SUFFIX = ".py";
+	private static final String SIDE_CAR_FILE_SUFFIX = ".args.json";
+	// Airflow는 '.py' 파일만 파싱하므로 임시 파일은 다른 확장자를 사용한다.
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	private final File m_dagsFolder;
+
+	public AirflowDagFilePublisher(File dagsFolder) {
+		Preconditions.checkArgument(dagsFolder != null, "dags-folder is null");
+
+		m_dagsFolder = dagsFolder;
+	}
+
+	/**
+	 * 주어진 DAG 식별자에 해당하는 DAG 파일을 반환한다.
+	 *
+	 * @param dagId	DAG 식별자.
+	 * @return	DAG 파일.
+	 */
+	public File getDagFile(String dagId) {
+		return new File(m_dagsFolder, dagId + DAG_FILE_SUFFIX);
+	}
+
+	/**
+	 * 주어진 DAG 식별자에 해당하는 side-car 파일을 반환한다.
+	 * <p>
+	 * side-car 파일은 DAG 파일에 포함시키기에는 큰 리터럴 인자들을 저장하는 JSON 파일로,
+	 * DAG 파일과 같은 폴더에 위치한다.
+	 *
+	 * @param dagId	DAG 식별자.
+	 * @return	side-car 파일.
+	 */
+	public File getSideCarFile(String dagId) {
+		return new File(m_dagsFolder, dagId + SIDE_CAR_FILE_SUFFIX);
+	}
+
+	/**
+	 * 주어진 내용으로 DAG 파일을 게시한다.
+	 *
+	 * @param dagId		DAG 식별자.
+	 * @param content	DAG 파일 내용.
+	 * @return	DAG 파일이 새로 기록된 경우에는 true, 기존 파일과 내용이 같아 기록을 생략한 경우에는 false.
+	 * @throws IOException	DAG 파일 기록에 실패한 경우.
+	 */
+	public boolean publish(String dagId, String content) throws IOException {
+		return publishFile(dagId, getDagFile(dagId).toPath(), content);
+	}
+
+	/**
+	 * 주어진 내용으로 side-car 파일을 게시한다.
+	 * <p>
+	 * DAG 파일이 참조하는 side-car 파일이 항상 존재하도록, side-car 파일은 DAG 파일보다 먼저 게시되어야 한다.
+	 *
+	 * @param dagId		DAG 식별자.
+	 * @param content	side-car 파일 내용. {@code null}인 경우에는 기존 side-car 파일을 삭제한다.
+	 * @return	side-car 파일이 새로 기록되거나 삭제된 경우에는 true, 변경이 없는 경우에는 false.
+	 * @throws IOException	side-car 파일 기록에 실패한 경우.
+	 */
+	public boolean publishSideCar(String dagId, @Nullable String content) throws IOException {
+		if ( content == null ) {
+			return Files.deleteIfExists(getSideCarFile(dagId).toPath());
+		}
+		else {
+			return publishFile(dagId, getSideCarFile(dagId).toPath(), content);
+		}
+	}
+
+	/**
+	 * 주어진 DAG 식별자에 해당하는 DAG 파일과 side-car 파일을 삭제한다.
+	 *
+	 * @param dagId	DAG 식별자.
+	 * @return	DAG 파일이 삭제된 경우에는 true, 파일이 존재하지 않은 경우에는 false.
+	 * @throws IOException	DAG 파일 삭제에 실패한 경우.
+	 */
+	public boolean remove(String dagId) throws IOException {
+		boolean removed = Files.deleteIfExists(getDagFile(dagId).toPath());
+		Files.deleteIfExists(getSideCarFile(dagId).toPath());
+		return removed;
+	}
+
+	private boolean publishFile(String dagId, Path path, String content) throws IOException {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+		HashCode newHash = Hashing.sha256().hashBytes(bytes);
+		if ( Files.isRegularFile(path) ) {
+			HashCode oldHash = Hashing.sha256().hashBytes(Files.readAllBytes(path));
+			if ( oldHash.equals(newHash) ) {
+				s_logger.debug("skip publishing unchanged Airflow DAG file: {}", path);
+				return false;
+			}
+		}
+
+		Path tempPath = Files.createTempFile(m_dagsFolder.toPath(), "." + dagId + "-", TEMP_FILE_SUFFIX);
+		try {
+			Files.write(tempPath, bytes);
+			try {
+				Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE,
+							StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch ( AtomicMoveNotSupportedException e ) {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			s_logger.info("published Airflow DAG file: {} (sha256={})", path, newHash);
+
+			return true;
+		}
+		finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+}
@@ -18,7 +18,25 @@ import mdt.workflow.WorkflowModel;
  * @author Kang-Woo Lee (ETRI)
  */
 public class AirflowDagGenerator {
+	private static final String TEMPLATE_NAME = "airflow_dag.peb";
+	
+	// PebbleTemplate은 thread-safe하므로 한번 컴파일된 템플릿을 모든 호출에서 공유한다.
+	private static final PebbleTemplate TEMPLATE = compileTemplate();
+	
 	public static DagSpec generate(WorkflowModel wfDesc, Writer writer) throws IOException {
+		return generate(wfDesc, new AirflowDagOptions(), writer);
+	}
+	
+	public static DagSpec generate(WorkflowModel wfDesc, AirflowDagOptions options, Writer writer)
+		throws IOException {
+		DagSpec dagSpec = new DagSpec(wfDesc, options);
+        TEMPLATE.evaluate(writer, Map.of("dag", dagSpec));
+        writer.flush();
+
+        return dagSpec;
+	}
+	
+	private static PebbleTemplate compileTemplate() {
         ClasspathLoader loader = new ClasspathLoader();
         loader.setPrefix("templates");
         loader.setCharset(StandardCharsets.UTF_8.name());
@@ -26,14 +44,9 @@ public class AirflowDagGenerator {
         PebbleEngine engine = new PebbleEngine.Builder()
 								                .loader(loader)
 								                .autoEscaping(false)
+								                .extension(new PythonArgumentExtension())
 								                .build();
-        PebbleTemplate template = engine.getTemplate("airflow_dag.peb");
-        
-		DagSpec dagSpec = new DagSpec(wfDesc);
-        template.evaluate(writer, Map.of("dag", dagSpec));
-        writer.flush();
-
-        return dagSpec;
+        return engine.getTemplate(TEMPLATE_NAME);
 	}
 	
 	public static final void main(String[] args) throws IOException {
@@ -0,0 +1,183 @@
+package mdt.workflow.airflow;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+
+/**
+ * 생성되는 Airflow DAG의 수행 제어 설정.
+ * <p>
+ * {@code max_active_runs}, {@code max_active_tasks}는 {@code @dag} 인자로 생성되고,
+ * {@code pool}, {@code priority_weight}, {@code retries}는 DAG에 속한 모든 task에 적용되는
+ * {@code default_args}로 생성된다. task별 옵션으로 지정된 값은 {@code default_args}보다 우선한다.
+ * 값이 지정되지 않은 ({@code null}) 항목은 DAG 파일에 생성되지 않으므로 Airflow의 기본 설정을 따른다.
+ * 또한 일정 크기 이상의 리터럴 인자를 DAG 파일 밖으로 분리할 기준도 함께 지정한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AirflowDagOptions {
+	private Integer m_maxActiveRuns;
+	private Integer m_maxActiveTasks;
+	private String m_pool;
+	private Integer m_priorityWeight;
+	private Integer m_retries;
+	private Integer m_externalLiteralThreshold;
+	private Boolean m_deferrable;
+	private Boolean m_deferrableOperatorAvailable;
+
+	public @Nullable Integer getMaxActiveRuns() {
+		return m_maxActiveRuns;
+	}
+
+	public void setMaxActiveRuns(Integer count) {
+		Preconditions.checkArgument(count == null || count > 0, "invalid max_active_runs: %s", count);
+		m_maxActiveRuns = count;
+	}
+
+	public @Nullable Integer getMaxActiveTasks() {
+		return m_maxActiveTasks;
+	}
+
+	public void setMaxActiveTasks(Integer count) {
+		Preconditions.checkArgument(count == null || count > 0, "invalid max_active_tasks: %s", count);
+		m_maxActiveTasks = count;
+	}
+
+	public @Nullable String getPool() {
+		return m_pool;
+	}
+
+	public void setPool(String pool) {
+		m_pool = TaskSpec.checkPoolName(pool);
+	}
+
+	public @Nullable Integer getPriorityWeight() {
+		return m_priorityWeight;
+	}
+
+	public void setPriorityWeight(Integer weight) {
+		m_priorityWeight = weight;
+	}
+
+	public @Nullable Integer getRetries() {
+		return m_retries;
+	}
+
+	public void setRetries(Integer count) {
+		Preconditions.checkArgument(count == null || count >= 0, "invalid retries: %s", count);
+		m_retries = count;
+	}
+
+	/**
+	 * DAG 파일 대신 side-car JSON 파일에 저장할 리터럴 인자의 최소 크기 (JSON 문자 수)를 반환한다.
+	 * {@code null}인 경우에는 모든 리터럴이 DAG 파일에 포함된다.
+	 * 
+	 * @return	리터럴 외부화 기준 크기.
+	 */
+	public @Nullable Integer getExternalLiteralThreshold() {
+		return m_externalLiteralThreshold;
+	}
+
+	public void setExternalLiteralThreshold(Integer threshold) {
+		Preconditions.checkArgument(threshold == null || threshold >= 0,
+									"invalid external literal threshold: %s", threshold);
+		m_externalLiteralThreshold = threshold;
+	}
+
+	/**
+	 * AAS 연산 task들을 기본적으로 deferrable operator로 생성할지 여부를 반환한다.
+	 * task별 'deferrable' 옵션이 지정된 경우에는 그 값이 우선한다.
+	 * 
+	 * @return	deferrable 여부. {@code null}인 경우는 false로 간주된다.
+	 */
+	public @Nullable Boolean getDeferrable() {
+		return m_deferrable;
+	}
+
+	public void setDeferrable(Boolean flag) {
+		m_deferrable = flag;
+	}
+
+	/**
+	 * Airflow에 설치된 mdtpy가 deferrable operator를 제공하는지 여부를 반환한다.
+	 * <p>
+	 * deferrable task는 DAG 파일에서 {@code mdtpy.airflow.AASOperationDeferrableOperator}를 import하며,
+	 * 이 operator와 연산 종료를 확인하는 trigger는 기본 mdtpy 배포본에 포함되어 있지 않다.
+	 * 따라서 이 값이 true가 아닌 경우에 deferrable task가 포함된 DAG를 생성하면 DAG 파일이
+	 * Airflow에서 파싱되지 않으므로, 생성 단계에서 실패시킨다. Airflow의 worker와 triggerer 모두에
+	 * 해당 operator와 trigger를 포함한 mdtpy가 설치된 경우에만 true로 설정해야 한다.
+	 * 
+	 * @return	deferrable operator 제공 여부. {@code null}인 경우는 false로 간주된다.
+	 */
+	public @Nullable Boolean getDeferrableOperatorAvailable() {
+		return m_deferrableOperatorAvailable;
+	}
+
+	public void setDeferrableOperatorAvailable(Boolean flag) {
+		m_deferrableOperatorAvailable = flag;
+	}
+
+	/**
+	 * 주어진 설정에서 지정된 항목들로 이 설정을 덮어쓴 새 설정을 반환한다.
+	 *
+	 * @param other	우선 적용할 설정. {@code null}인 경우에는 이 설정과 동일한 설정이 반환된다.
+	 * @return	병합된 설정.
+	 */
+	public AirflowDagOptions overriddenBy(@Nullable AirflowDagOptions other) {
+		AirflowDagOptions merged = new AirflowDagOptions();
+		merged.m_maxActiveRuns = pick(other != null ? other.m_maxActiveRuns : null, m_maxActiveRuns);
+		merged.m_maxActiveTasks = pick(other != null ? other.m_maxActiveTasks : null, m_maxActiveTasks);
+		merged.m_pool = pick(other != null ? other.m_pool : null, m_pool);
+		merged.m_priorityWeight = pick(other != null ? other.m_priorityWeight : null, m_priorityWeight);
+		merged.m_retries = pick(other != null ? other.m_retries : null, m_retries);
+		merged.m_externalLiteralThreshold = pick(other != null ? other.m_externalLiteralThreshold : null,
+												m_externalLiteralThreshold);
+		merged.m_deferrable = pick(other != null ? other.m_deferrable : null, m_deferrable);
+		merged.m_deferrableOperatorAvailable = pick(other != null ? other.m_deferrableOperatorAvailable : null,
+													m_deferrableOperatorAvailable);
+		return merged;
+	}
+
+	/**
+	 * {@code @dag} 데코레이터에 추가될 인자 목록을 Python 코드로 반환한다.
+	 *
+	 * @return	Python 인자 목록.
+	 */
+	public List<String> getDagArguments() {
+		List<String> args = Lists.newArrayList();
+		if ( m_maxActiveRuns != null ) {
+			args.add("max_active_runs=" + m_maxActiveRuns);
+		}
+		if ( m_maxActiveTasks != null ) {
+			args.add("max_active_tasks=" + m_maxActiveTasks);
+		}
+		return args;
+	}
+
+	/**
+	 * {@code @dag}의 {@code default_args}에 들어갈 항목들을 Python 코드로 반환한다.
+	 *
+	 * @return	Python dict 항목 목록.
+	 */
+	public List<String> getDefaultArguments() {
+		List<String> args = Lists.newArrayList();
+		if ( m_pool != null ) {
+			args.add(String.format("\"pool\": \"%s\"", m_pool));
+		}
+		if ( m_priorityWeight != null ) {
+			args.add("\"priority_weight\": " + m_priorityWeight);
+		}
+		if ( m_retries != null ) {
+			args.add("\"retries\": " + m_retries);
+		}
+		return args;
+	}
+
+	private static <T> T pick(T first, T second) {
+		return (first != null) ? first : second;
+	}
+}
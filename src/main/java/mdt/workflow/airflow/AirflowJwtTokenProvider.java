@@ -0,0 +1,204 @@
+package mdt.workflow.airflow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+
+import okhttp3.Authenticator;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+import mdt.model.MDTModelSerDe;
+
+
+/**
+ * Airflow REST API 접근에 사용되는 JWT 토큰을 관리한다.
+ * <p>
+ * 토큰은 만료 시각({@code exp} claim)보다 {@code renewMargin} 만큼 먼저 background
+ * 쓰레드에서 갱신되므로, 요청을 보내는 쓰레드는 토큰 갱신을 기다리지 않는다.
+ * 만일 만료된 토큰 때문에 여러 요청이 동시에 401 응답을 받더라도, 토큰 재발급은
+ * 한번만 수행되고 나머지 요청들은 새로 발급된 토큰을 공유한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AirflowJwtTokenProvider implements AutoCloseable {
+	private static final Logger s_logger = LoggerFactory.getLogger(AirflowJwtTokenProvider.class);
+	private static final String HEADER_AUTHORIZATION = "Authorization";
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	// 토큰에서 만료 시각을 얻을 수 없는 경우 사용할 토큰 유효 기간.
+	private static final Duration DEFAULT_TOKEN_LIFETIME = Duration.ofMinutes(30);
+	// 토큰 갱신에 실패한 경우 재시도할 때까지의 대기 시간.
+	private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+	private static final Duration MIN_RENEW_DELAY = Duration.ofSeconds(10);
+
+	private final Supplier<String> m_tokenFetcher;
+	private final Duration m_renewMargin;
+	private final ScheduledExecutorService m_scheduler;
+	private volatile String m_token;
+
+	/**
+	 * JWT 토큰 관리자를 생성한다.
+	 * <p>
+	 * 생성 과정에서 첫번째 토큰을 발급받고, 이후 토큰 갱신 작업을 예약한다.
+	 *
+	 * @param tokenFetcher	Airflow로부터 새 JWT 토큰을 발급받는 함수.
+	 * @param renewMargin	토큰 만료 시각보다 얼마나 먼저 갱신할지를 나타내는 시간.
+	 */
+	public AirflowJwtTokenProvider(Supplier<String> tokenFetcher, Duration renewMargin) {
+		Preconditions.checkArgument(tokenFetcher != null, "token fetcher is null");
+		Preconditions.checkArgument(renewMargin != null && !renewMargin.isNegative(),
+									"invalid renew margin: %s", renewMargin);
+
+		m_tokenFetcher = tokenFetcher;
+		m_renewMargin = renewMargin;
+		m_scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "airflow-token-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			m_token = m_tokenFetcher.get();
+			scheduleRenewal(getRenewDelay(m_token));
+		}
+		catch ( RuntimeException e ) {
+			m_scheduler.shutdownNow();
+			throw e;
+		}
+	}
+
+	/**
+	 * 현재 유효한 JWT 토큰을 반환한다.
+	 *
+	 * @return	JWT 토큰.
+	 */
+	public String getToken() {
+		return m_token;
+	}
+
+	/**
+	 * 주어진 토큰이 거부된 경우, 새 토큰을 발급받는다.
+	 * <p>
+	 * 다른 쓰레드가 이미 토큰을 갱신한 경우에는 재발급 없이 갱신된 토큰을 반환한다.
+	 *
+	 * @param rejected	Airflow가 거부한 토큰.
+	 * @return	새 JWT 토큰.
+	 */
+	public synchronized String refresh(@Nullable String rejected) {
+		if ( rejected != null && !rejected.equals(m_token) ) {
+			return m_token;
+		}
+
+		m_token = m_tokenFetcher.get();
+		s_logger.info("renewed Airflow JWT token");
+		return m_token;
+	}
+
+	/**
+	 * 모든 요청에 현재 토큰을 'Authorization' 헤더로 추가하는 OkHttp interceptor를 반환한다.
+	 *
+	 * @return	OkHttp interceptor.
+	 */
+	public Interceptor asInterceptor() {
+		return chain -> {
+			Request req = chain.request().newBuilder()
+										.header(HEADER_AUTHORIZATION, BEARER_PREFIX + m_token)
+										.build();
+			return chain.proceed(req);
+		};
+	}
+
+	/**
+	 * 401 응답을 받은 경우 토큰을 갱신하고 요청을 한번 재시도하는 OkHttp authenticator를 반환한다.
+	 *
+	 * @return	OkHttp authenticator.
+	 */
+	public Authenticator asAuthenticator() {
+		return new Authenticator() {
+			@Override
+			public Request authenticate(@Nullable Route route, Response response) throws IOException {
+				// 이미 한번 재시도한 요청이면 더 이상 시도하지 않는다.
+				if ( response.priorResponse() != null ) {
+					return null;
+				}
+
+				String header = response.request().header(HEADER_AUTHORIZATION);
+				String rejected = (header != null && header.startsWith(BEARER_PREFIX))
+								? header.substring(BEARER_PREFIX.length()) : null;
+				try {
+					String token = refresh(rejected);
+					return response.request().newBuilder()
+											.header(HEADER_AUTHORIZATION, BEARER_PREFIX + token)
+											.build();
+				}
+				catch ( RuntimeException e ) {
+					s_logger.warn("failed to renew Airflow JWT token: cause={}", "" + e);
+					return null;
+				}
+			}
+		};
+	}
+
+	@Override
+	public void close() {
+		m_scheduler.shutdownNow();
+	}
+
+	private void scheduleRenewal(Duration delay) {
+		if ( m_scheduler.isShutdown() ) {
+			return;
+		}
+
+		m_scheduler.schedule(() -> {
+			try {
+				String token = refresh(null);
+				scheduleRenewal(getRenewDelay(token));
+			}
+			catch ( Exception e ) {
+				s_logger.warn("failed to renew Airflow JWT token, retry after {}: cause={}", RETRY_DELAY, "" + e);
+				scheduleRenewal(RETRY_DELAY);
+			}
+		}, delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private Duration getRenewDelay(String token) {
+		Instant expiresAt = getExpirationTime(token);
+		Instant renewAt = (expiresAt != null)
+						? expiresAt.minus(m_renewMargin)
+						: Instant.now().plus(DEFAULT_TOKEN_LIFETIME);
+		Duration delay = Duration.between(Instant.now(), renewAt);
+		return (delay.compareTo(MIN_RENEW_DELAY) < 0) ? MIN_RENEW_DELAY : delay;
+	}
+
+	private static @Nullable Instant getExpirationTime(String token) {
+		try {
+			String[] parts = token.split("\\.");
+			if ( parts.length < 2 ) {
+				return null;
+			}
+
+			byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+			JsonNode claims = MDTModelSerDe.getJsonMapper().readTree(new String(payload, StandardCharsets.UTF_8));
+			return claims.hasNonNull("exp") ? Instant.ofEpochSecond(claims.get("exp").asLong()) : null;
+		}
+		catch ( IOException | IllegalArgumentException e ) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package mdt.workflow.airflow;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+
+
+/**
+ * Airflow REST API의 목록 조회 결과를 limit/offset 방식으로 페이지 단위로 읽어오는 iterator.
+ * <p>
+ * Airflow의 목록 API는 별도의 지정이 없으면 최대 100개의 항목만 반환하기 때문에,
+ * 모든 항목을 얻기 위해서는 여러 페이지를 차례대로 요청하여야 한다.
+ * 본 iterator는 현재 페이지의 항목을 모두 소진한 경우에만 다음 페이지를 요청하기 때문에
+ * 한번에 최대 한 페이지 분량의 응답만 메모리에 유지된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AirflowPageIterator implements Iterator<JsonNode> {
+	private static final String FIELD_TOTAL_ENTRIES = "total_entries";
+
+	/**
+	 * 주어진 offset과 limit에 해당하는 한 페이지를 Airflow로부터 읽어오는 함수.
+	 */
+	@FunctionalInterface
+	public static interface PageFetcher {
+		public JsonNode fetch(int offset, int limit);
+	}
+
+	private final PageFetcher m_fetcher;
+	private final String m_itemsField;
+	private final int m_pageSize;
+
+	private int m_offset = 0;
+	private Iterator<JsonNode> m_page = Collections.emptyIterator();
+	private boolean m_lastPageFetched = false;
+
+	/**
+	 * 페이지 iterator를 생성한다.
+	 *
+	 * @param fetcher		한 페이지를 읽어오는 함수.
+	 * @param itemsField	응답 JSON에서 항목 배열이 저장된 필드 이름 (예: {@code "dag_runs"}).
+	 * @param pageSize		한 페이지에 요청할 항목 수. Airflow는 이보다 적은 항목을 반환할 수 있다.
+	 */
+	public AirflowPageIterator(PageFetcher fetcher, String itemsField, int pageSize) {
+		Preconditions.checkArgument(fetcher != null, "PageFetcher is null");
+		Preconditions.checkArgument(itemsField != null, "items field is null");
+		Preconditions.checkArgument(pageSize > 0, "invalid page size: %s", pageSize);
+
+		m_fetcher = fetcher;
+		m_itemsField = itemsField;
+		m_pageSize = pageSize;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while ( !m_page.hasNext() ) {
+			if ( m_lastPageFetched ) {
+				return false;
+			}
+			fetchNextPage();
+		}
+
+		return true;
+	}
+
+	@Override
+	public JsonNode next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+
+		return m_page.next();
+	}
+
+	private void fetchNextPage() {
+		JsonNode result = m_fetcher.fetch(m_offset, m_pageSize);
+		JsonNode items = result.get(m_itemsField);
+		if ( items == null || !items.isArray() ) {
+			throw new IllegalStateException("invalid Airflow list response: field '" + m_itemsField
+											+ "' is missing");
+		}
+
+		int count = items.size();
+		m_offset += count;
+
+		// Airflow는 요청한 페이지 크기를 'maximum_page_limit'으로 제한하므로, 반환된 항목 수가 페이지 크기보다
+		// 작더라도 마지막 페이지라고 볼 수 없다. 전체 항목 수가 제공되면 이에 도달한 경우, 그렇지 않으면
+		// 빈 페이지를 받은 경우에만 마지막 페이지로 간주한다.
+		long total = result.path(FIELD_TOTAL_ENTRIES).asLong(-1);
+		m_lastPageFetched = (count == 0) || (total >= 0 && m_offset >= total);
+		m_page = items.elements();
+	}
+}
@@ -0,0 +1,224 @@
+package mdt.workflow.airflow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+
+
+/**
+ * Airflow TaskInstance의 로그를 continuation token을 따라가며 조각(chunk) 단위로 읽어
+ * 주어진 {@link Writer}로 출력한다.
+ * <p>
+ * 로그는 {@code full_content=false} 방식으로 요청되므로 Airflow로부터 한번에 전체 로그를
+ * 받지 않고, 직전 요청 이후에 추가된 부분만을 받는다. {@code follow} 모드에서는 TaskInstance가
+ * 종료될 때까지 주기적으로 새로 추가된 로그를 읽어 출력한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class AirflowTaskLogStreamer {
+	private static final Set<String> TERMINAL_TASK_STATES = Set.of("success", "failed", "skipped",
+																	"upstream_failed", "removed");
+
+	private final Function<String,JsonNode> m_getter;
+	private final String m_taskInstanceUrl;
+	private final @Nullable Integer m_mapIndex;
+	private final Duration m_pollInterval;
+
+	/**
+	 * 로그 출력기를 생성한다.
+	 *
+	 * @param getter			주어진 URL에 대한 GET 요청 결과를 반환하는 함수.
+	 * @param taskInstanceUrl	대상 TaskInstance의 URL.
+	 * @param pollInterval		{@code follow} 모드에서 새 로그를 확인하는 주기.
+	 */
+	public AirflowTaskLogStreamer(Function<String,JsonNode> getter, String taskInstanceUrl,
+									Duration pollInterval) {
+		this(getter, taskInstanceUrl, null, pollInterval);
+	}
+
+	/**
+	 * 동적 매핑된 TaskInstance의 로그 출력기를 생성한다.
+	 *
+	 * @param getter			주어진 URL에 대한 GET 요청 결과를 반환하는 함수.
+	 * @param taskInstanceUrl	대상 TaskInstance (매핑된 task)의 URL.
+	 * @param mapIndex			대상 TaskInstance의 map index. 매핑되지 않은 task인 경우는 {@code null}.
+	 * @param pollInterval		{@code follow} 모드에서 새 로그를 확인하는 주기.
+	 */
+	public AirflowTaskLogStreamer(Function<String,JsonNode> getter, String taskInstanceUrl,
+									@Nullable Integer mapIndex, Duration pollInterval) {
+		Preconditions.checkArgument(getter != null, "getter is null");
+		Preconditions.checkArgument(taskInstanceUrl != null, "TaskInstance url is null");
+		Preconditions.checkArgument(mapIndex == null || mapIndex >= 0, "invalid map index: %s", mapIndex);
+		Preconditions.checkArgument(pollInterval != null, "poll interval is null");
+
+		m_getter = getter;
+		m_taskInstanceUrl = taskInstanceUrl;
+		m_mapIndex = mapIndex;
+		m_pollInterval = pollInterval;
+	}
+
+	/**
+	 * TaskInstance의 로그를 출력한다.
+	 *
+	 * @param tryNumber	대상 시도 번호. {@code null}인 경우에는 가장 최근 시도의 로그를 출력한다.
+	 * @param tail		출력할 마지막 줄 수. {@code null}인 경우에는 전체 로그를 출력한다.
+	 * @param follow	true인 경우 TaskInstance가 종료될 때까지 새로 추가되는 로그를 계속 출력한다.
+	 * @param writer	로그를 출력할 대상.
+	 * @throws IOException	로그 출력에 실패한 경우.
+	 */
+	public void stream(@Nullable Integer tryNumber, @Nullable Integer tail, boolean follow, Writer writer)
+		throws IOException {
+		Preconditions.checkArgument(tail == null || tail >= 0, "invalid tail: %s", tail);
+
+		int tryNo = (tryNumber != null) ? tryNumber : getLatestTryNumber();
+		String logUrl = String.format("%s/logs/%d?full_content=false", m_taskInstanceUrl, tryNo);
+		if ( m_mapIndex != null ) {
+			logUrl = String.format("%s&map_index=%d", logUrl, m_mapIndex);
+		}
+
+		// tail이 지정된 경우에는 이미 기록된 로그를 다 읽을 때까지 마지막 tail 줄만 유지하고,
+		// 그 이후에 추가되는 로그는 바로 출력한다.
+		ArrayDeque<String> tailBuffer = (tail != null) ? new ArrayDeque<>(tail + 1) : null;
+		String token = null;
+		// TaskInstance의 종료를 확인한 이후에는 종료 직전에 기록된 로그까지 읽도록 한번 더 요청하고,
+		// 그 다음 빈 조각을 받은 경우에 종료한다.
+		boolean finished = false;
+		while ( true ) {
+			String url = (token != null)
+						? String.format("%s&token=%s", logUrl, URLEncoder.encode(token, StandardCharsets.UTF_8))
+						: logUrl;
+			JsonNode chunk = m_getter.apply(url);
+
+			boolean hasContent = false;
+			for ( String line: toLines(chunk.path("content")) ) {
+				hasContent = true;
+				if ( tailBuffer != null ) {
+					tailBuffer.addLast(line);
+					if ( tailBuffer.size() > tail ) {
+						tailBuffer.removeFirst();
+					}
+				}
+				else {
+					writer.write(line);
+					writer.write('\n');
+				}
+			}
+			if ( hasContent && tailBuffer == null ) {
+				writer.flush();
+			}
+
+			String nextToken = chunk.path("continuation_token").asText(null);
+			if ( nextToken == null ) {
+				// continuation token을 지원하지 않는 경우에는 전체 로그가 한번에 반환된 것이다.
+				break;
+			}
+			token = nextToken;
+
+			if ( !hasContent ) {
+				if ( tailBuffer != null ) {
+					flushTail(tailBuffer, writer);
+					tailBuffer = null;
+				}
+				if ( !follow || finished ) {
+					break;
+				}
+				finished = isTaskFinished();
+				if ( !finished ) {
+					sleep();
+				}
+			}
+		}
+
+		if ( tailBuffer != null ) {
+			flushTail(tailBuffer, writer);
+		}
+	}
+
+	private int getLatestTryNumber() {
+		// 아직 시작되지 않은 TaskInstance의 try_number는 0일 수 있다.
+		JsonNode taskInst = m_getter.apply(getMappedTaskInstanceUrl());
+		return Math.max(taskInst.path("try_number").asInt(1), 1);
+	}
+
+	private String getMappedTaskInstanceUrl() {
+		return (m_mapIndex != null) ? String.format("%s/%d", m_taskInstanceUrl, m_mapIndex) : m_taskInstanceUrl;
+	}
+
+	private boolean isTaskFinished() {
+		JsonNode taskInst = m_getter.apply(getMappedTaskInstanceUrl());
+		return TERMINAL_TASK_STATES.contains(taskInst.path("state").asText());
+	}
+
+	private void sleep() throws IOException {
+		try {
+			Thread.sleep(m_pollInterval.toMillis());
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while following Airflow task log", e);
+		}
+	}
+
+	private static void flushTail(ArrayDeque<String> tailBuffer, Writer writer) throws IOException {
+		for ( String line: tailBuffer ) {
+			writer.write(line);
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Airflow 로그 응답의 'content' 필드를 줄 단위로 변환한다.
+	 * <p>
+	 * Airflow 3는 구조화된 로그 메시지 배열을 반환하고, 이전 버전은 하나의 문자열을 반환한다.
+	 */
+	private static Iterable<String> toLines(JsonNode content) {
+		ArrayDeque<String> lines = new ArrayDeque<>();
+		if ( content.isTextual() ) {
+			String text = content.asText();
+			if ( !text.isEmpty() ) {
+				for ( String line: text.split("\n", -1) ) {
+					lines.add(line);
+				}
+				if ( text.endsWith("\n") ) {
+					lines.removeLast();
+				}
+			}
+		}
+		else if ( content.isArray() ) {
+			for ( JsonNode msg: content ) {
+				lines.add(toLine(msg));
+			}
+		}
+
+		return lines;
+	}
+
+	private static String toLine(JsonNode msg) {
+		if ( msg.isTextual() ) {
+			return msg.asText();
+		}
+
+		String event = msg.path("event").asText("");
+		String timestamp = msg.path("timestamp").asText(null);
+		String level = msg.path("level").asText(null);
+		StringBuilder builder = new StringBuilder();
+		if ( timestamp != null ) {
+			builder.append('[').append(timestamp).append("] ");
+		}
+		if ( level != null ) {
+			builder.append(level.toUpperCase()).append(" - ");
+		}
+		return builder.append(event).toString();
+	}
+}
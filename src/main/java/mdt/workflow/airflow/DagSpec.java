@@ -1,12 +1,26 @@
 package mdt.workflow.airflow;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import utils.stream.FStream;
 
 import mdt.workflow.WorkflowModel;
+import mdt.workflow.model.Option;
+import mdt.workflow.model.TaskDescriptor;
 
 
 /**
@@ -14,30 +28,250 @@ import mdt.workflow.WorkflowModel;
  * @author Kang-Woo Lee (ETRI)
  */
 public class DagSpec {
+	/**
+	 * task를 fan-out 묶음에 포함시킬 때 사용하는 옵션 이름. 옵션 값은 묶음 식별자이다.
+	 * <p>
+	 * 묶음에 속한 task들은 Airflow에서 묶음 식별자와 map index로 식별되므로, 이 옵션이 지정된
+	 * task들만 묶는다.
+	 */
+	public static final String OPTION_FANOUT = "fanout";
+
 	private final String m_dagId;
 	private final String m_description;
+	private final AirflowDagOptions m_options;
 	private final List<TaskSpec> m_tasks;
+	private final List<FanOutTaskSpec> m_fanOuts;
+	private final List<Dependency> m_dependencies;
+	private final Map<String,String> m_sideCarLiterals = new LinkedHashMap<>();
 
 	public DagSpec(WorkflowModel wfDesc) {
+		this(wfDesc, new AirflowDagOptions());
+	}
+
+	public DagSpec(WorkflowModel wfDesc, AirflowDagOptions options) {
+		Preconditions.checkArgument(options != null, "DAG options is null");
+		
 		m_dagId = wfDesc.getId();
 		Preconditions.checkArgument(PythonIdentifierUtil.isValidPythonIdentifier(m_dagId),
 				                    "invalid DAG id: %s (invalid Python identifier)", m_dagId);
 		m_description = wfDesc.getDescription();
-		
-		m_tasks = FStream.from(wfDesc.getTaskDescriptors())
-										.map(TaskSpec::from)
-										.toList();
+		m_options = options;
+
+		List<TaskSpec> tasks = Lists.newArrayList();
+		Map<String,List<TaskSpec>> declaredGroups = new LinkedHashMap<>();
+		for ( TaskDescriptor taskDesc: wfDesc.getTaskDescriptors() ) {
+			TaskSpec task = TaskSpec.from(taskDesc);
+			if ( task instanceof AASOperationTaskSpec aasTask && aasTask.getDeferrableOption() == null ) {
+				aasTask.setDeferrableOption(options.getDeferrable());
+			}
+			if ( options.getExternalLiteralThreshold() != null ) {
+				task.externalizeLiterals(options.getExternalLiteralThreshold(), m_sideCarLiterals);
+			}
+			Option fanOutOpt = taskDesc.getOptions().get(OPTION_FANOUT);
+			if ( fanOutOpt != null && fanOutOpt.getValue() != null && !fanOutOpt.getValue().isBlank() ) {
+				// deferrable operator는 TaskFlow 함수가 아니므로 동적 매핑 묶음에 포함될 수 없다.
+				Preconditions.checkArgument(!task.isDeferrable(),
+											"deferrable task cannot be in a fan-out group: task=%s",
+											task.getTaskId());
+				declaredGroups.computeIfAbsent(fanOutOpt.getValue().trim(), k -> Lists.newArrayList()).add(task);
+			}
+			else {
+				tasks.add(task);
+			}
+		}
+
+		Set<String> taskIds = FStream.from(wfDesc.getTaskDescriptors()).map(TaskDescriptor::getId).toSet();
+		m_fanOuts = Lists.newArrayList();
+		declaredGroups.forEach((groupId, members) -> {
+			Preconditions.checkArgument(!taskIds.contains(groupId),
+										"fan-out group id conflicts with a task id: group=%s", groupId);
+			m_fanOuts.add(new FanOutTaskSpec(groupId, members));
+		});
+
+		m_tasks = tasks;
+		Preconditions.checkArgument(!hasDeferrableTask()
+										|| Boolean.TRUE.equals(options.getDeferrableOperatorAvailable()),
+									"deferrable tasks require mdtpy.airflow.AASOperationDeferrableOperator, "
+									+ "which is not declared available on Airflow "
+									+ "(set 'deferrable-operator-available'): dag=%s", m_dagId);
+		m_dependencies = buildDependencies();
 	}
 
 	public String getId() {
 		return m_dagId;
 	}
-	
+
 	public String getDescription() {
 		return m_description;
 	}
 
+	public AirflowDagOptions getOptions() {
+		return m_options;
+	}
+
+	/**
+	 * {@code @dag} 데코레이터에 추가될 인자들을 Python 코드로 반환한다.
+	 * <p>
+	 * {@code max_active_runs}, {@code max_active_tasks}와 모든 task에 적용될 {@code default_args}가
+	 * 포함되며, 지정된 설정이 없는 경우에는 빈 목록이 반환된다.
+	 *
+	 * @return	Python 인자 목록.
+	 */
+	public List<String> getDecoratorArguments() {
+		List<String> args = Lists.newArrayList(m_options.getDagArguments());
+		List<String> defaultArgs = m_options.getDefaultArguments();
+		if ( !defaultArgs.isEmpty() ) {
+			args.add(String.format("default_args={%s}", String.join(", ", defaultArgs)));
+		}
+		return args;
+	}
+
+	/**
+	 * fan-out 묶음에 속하지 않은 task들의 목록을 반환한다.
+	 *
+	 * @return	task 목록.
+	 */
 	public List<TaskSpec> getTasks() {
 		return m_tasks;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * {@code .expand()}로 동적 매핑되는 fan-out 묶음들의 목록을 반환한다.
+	 *
+	 * @return	fan-out 묶음 목록.
+	 */
+	public List<FanOutTaskSpec> getFanOuts() {
+		return m_fanOuts;
+	}
+
+	/**
+	 * DAG를 구성하는 task (또는 fan-out 묶음) 사이의 선후 관계 목록을 반환한다.
+	 * <p>
+	 * fan-out 묶음에 속한 task에 대한 선후 관계는 묶음 자체에 대한 관계로 변환되어 있다.
+	 *
+	 * @return	선후 관계 목록.
+	 */
+	public List<Dependency> getDependencies() {
+		return m_dependencies;
+	}
+
+	/**
+	 * deferrable operator로 생성되는 task가 있는지 여부를 반환한다.
+	 *
+	 * @return	deferrable task가 있는 경우 true.
+	 */
+	public boolean hasDeferrableTask() {
+		return m_tasks.stream().anyMatch(TaskSpec::isDeferrable);
+	}
+
+	/**
+	 * DAG 파일 대신 side-car 파일에 저장될 리터럴 인자가 있는지 여부를 반환한다.
+	 *
+	 * @return	side-car 파일이 필요한 경우 true.
+	 */
+	public boolean hasSideCar() {
+		return !m_sideCarLiterals.isEmpty();
+	}
+
+	private static final JsonFactory SIDE_CAR_FACTORY = JsonFactory.builder()
+																.disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+																.build();
+	/**
+	 * side-car 파일의 내용을 출력한다.
+	 * <p>
+	 * side-car 파일은 각 리터럴 인자의 항목 식별자를 key로, 인자 값을 value로 하는 JSON 객체이다.
+	 * 항목 식별자는 task 및 인자 식별자로 구성되므로 JSON 문자열로 escape하여 출력하고,
+	 * 인자 값은 이미 JSON으로 직렬화되어 있으므로 다시 파싱하지 않고 그대로 출력한다.
+	 *
+	 * @param writer	출력 대상.
+	 * @throws IOException	출력에 실패한 경우.
+	 */
+	public void writeSideCar(Writer writer) throws IOException {
+		try ( JsonGenerator gen = SIDE_CAR_FACTORY.createGenerator(writer) ) {
+			gen.useDefaultPrettyPrinter();
+			gen.writeStartObject();
+			for ( Map.Entry<String,String> ent: m_sideCarLiterals.entrySet() ) {
+				gen.writeFieldName(ent.getKey());
+				gen.writeRawValue(ent.getValue());
+			}
+			gen.writeEndObject();
+		}
+		writer.write('\n');
+		writer.flush();
+	}
+
+	/**
+	 * 주어진 워크플로우 모델의 fan-out 묶음별 task 식별자 목록을 반환한다.
+	 * <p>
+	 * 목록의 순서는 DAG 파일에서 {@code .expand()}에 전달되는 순서와 같으므로, Airflow TaskInstance의
+	 * map index를 해당 task 식별자로 변환하는데 사용할 수 있다.
+	 *
+	 * @param wfModel	워크플로우 모델.
+	 * @return	묶음 식별자별 task 식별자 목록.
+	 */
+	public static Map<String,List<String>> getFanOutMembers(WorkflowModel wfModel) {
+		Map<String,List<String>> groups = new LinkedHashMap<>();
+		for ( TaskDescriptor taskDesc: wfModel.getTaskDescriptors() ) {
+			Option fanOutOpt = taskDesc.getOptions().get(OPTION_FANOUT);
+			if ( fanOutOpt != null && fanOutOpt.getValue() != null && !fanOutOpt.getValue().isBlank() ) {
+				groups.computeIfAbsent(fanOutOpt.getValue().trim(), k -> Lists.newArrayList()).add(taskDesc.getId());
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * 두 task 사이의 선후 관계.
+	 */
+	public static final class Dependency {
+		private final String m_upstream;
+		private final String m_downstream;
+
+		Dependency(String upstream, String downstream) {
+			m_upstream = upstream;
+			m_downstream = downstream;
+		}
+
+		public String getUpstream() {
+			return m_upstream;
+		}
+
+		public String getDownstream() {
+			return m_downstream;
+		}
+	}
+
+	private List<Dependency> buildDependencies() {
+		// fan-out 묶음에 속한 task의 식별자를 묶음 식별자로 변환하기 위한 map.
+		Map<String,String> nodeIds = Maps.newHashMap();
+		for ( FanOutTaskSpec fanOut: m_fanOuts ) {
+			for ( String memberId: fanOut.getMemberIds() ) {
+				nodeIds.put(memberId, fanOut.getGroupId());
+			}
+		}
+
+		Set<List<String>> edges = new LinkedHashSet<>();
+		for ( TaskSpec task: m_tasks ) {
+			for ( String dep: task.getDependencies() ) {
+				edges.add(List.of(nodeIds.getOrDefault(dep, dep), task.getTaskId()));
+			}
+		}
+		for ( FanOutTaskSpec fanOut: m_fanOuts ) {
+			for ( TaskSpec member: fanOut.getMembers() ) {
+				for ( String dep: member.getDependencies() ) {
+					String upstream = nodeIds.getOrDefault(dep, dep);
+					Preconditions.checkArgument(!upstream.equals(fanOut.getGroupId()),
+												"fan-out group has an internal dependency: group=%s, task=%s",
+												fanOut.getGroupId(), member.getTaskId());
+					edges.add(List.of(upstream, fanOut.getGroupId()));
+				}
+			}
+		}
+
+		List<Dependency> deps = new ArrayList<>(edges.size());
+		for ( List<String> edge: edges ) {
+			deps.add(new Dependency(edge.get(0), edge.get(1)));
+		}
+		return deps;
+	}
+}
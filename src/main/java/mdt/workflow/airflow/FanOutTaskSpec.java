@@ -0,0 +1,77 @@
+package mdt.workflow.airflow;
+
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import utils.stream.FStream;
+
+
+/**
+ * 구조가 동일하고 인자 값만 서로 다른 task들의 묶음.
+ * <p>
+ * 묶음에 속한 task들은 DAG 파일에서 하나의 {@code @task} 함수로 생성되고,
+ * {@code .expand()}를 통해 각 task의 인자 목록에 대해 동적으로 매핑(dynamic task mapping)된다.
+ * 따라서 묶음의 크기와 무관하게 DAG 파싱시 생성되는 operator의 수는 하나로 유지된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Getter
+@Accessors(prefix = "m_")
+public class FanOutTaskSpec {
+	private final String m_groupId;
+	private final List<TaskSpec> m_members;
+
+	public FanOutTaskSpec(String groupId, List<TaskSpec> members) {
+		Preconditions.checkArgument(PythonIdentifierUtil.isValidPythonIdentifier(groupId),
+									"invalid fan-out group id: %s (invalid Python identifier)", groupId);
+		Preconditions.checkArgument(members != null && !members.isEmpty(), "empty fan-out group: %s", groupId);
+
+		String key = members.get(0).getStructureKey();
+		for ( TaskSpec member: members ) {
+			Preconditions.checkArgument(member.getStructureKey().equals(key),
+										"fan-out group has a structurally different task: group=%s, task=%s",
+										groupId, member.getTaskId());
+		}
+
+		m_groupId = groupId;
+		m_members = members;
+	}
+
+	/**
+	 * 묶음에 속한 task들의 공통 형태를 나타내는 대표 task를 반환한다.
+	 * <p>
+	 * DAG 템플릿은 이 task를 이용하여 task 종류, 대상 인스턴스 등 모든 task에 공통된 부분을 생성한다.
+	 *
+	 * @return	대표 task.
+	 */
+	public TaskSpec getTemplate() {
+		return m_members.get(0);
+	}
+
+	public String getTaskType() {
+		return getTemplate().getTaskType();
+	}
+
+	/**
+	 * 묶음에 속한 task들의 식별자 집합을 반환한다.
+	 *
+	 * @return	task 식별자 집합.
+	 */
+	public Set<String> getMemberIds() {
+		return FStream.from(m_members).map(TaskSpec::getTaskId).toSet();
+	}
+
+	/**
+	 * 묶음에 속한 task들이 공통으로 의존하는 task 식별자 집합을 반환한다.
+	 *
+	 * @return	선행 task 식별자 집합.
+	 */
+	public Set<String> getDependencies() {
+		return getTemplate().getDependencies();
+	}
+}
@@ -1,5 +1,8 @@
 package mdt.workflow.airflow;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.Iterator;
 import java.util.Map;
@@ -26,6 +29,8 @@ public class JsonToPythonLiteralHybrid {
     // 한 줄 판단 시, 컨테이너(객체/배열)의 최대 원소 수(필드/요소 수) (원하시면 조정)
     private static final int MAX_INLINE_ITEMS = 6;
 
+    private static final String SPACES = " ".repeat(64);
+
     private static final ObjectMapper MAPPER = buildMapperPreserveOrder();
 
     private static ObjectMapper buildMapperPreserveOrder() {
@@ -39,206 +44,310 @@ public class JsonToPythonLiteralHybrid {
 
     public static String convertToPythonLiteralHybrid(String json) throws JsonMappingException, JsonProcessingException {
         JsonNode root = MAPPER.readTree(json);
-        StringBuilder sb = new StringBuilder();
-        renderHybrid(root, sb, 0);
-        return sb.toString();
+        StringWriter writer = new StringWriter();
+        try {
+            render(root, writer);
+        }
+        catch (IOException neverHappens) {
+            // StringWriter는 IOException을 발생시키지 않는다.
+            throw new AssertionError(neverHappens);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 주어진 JSON 문자열을 Python literal로 변환하여 {@code writer}에 출력한다.
+     *
+     * @param json      변환할 JSON 문자열
+     * @param writer    출력 대상
+     * @throws IOException  JSON 파싱 또는 출력에 실패한 경우
+     */
+    public static void convertToPythonLiteralHybrid(String json, Writer writer) throws IOException {
+        render(MAPPER.readTree(json), writer);
+    }
+
+    /**
+     * 주어진 JSON 노드를 Python literal로 변환하여 {@code writer}에 출력한다.
+     * <p>
+     * 각 노드는 한번씩만 출력된다. 컨테이너를 한 줄로 출력할지 여부는 출력 전에
+     * 최대 {@link #MAX_INLINE_LENGTH} 글자까지만 미리 계산하여 판단하므로,
+     * 판단 비용은 컨테이너 크기나 중첩 깊이와 무관하게 제한된다.
+     *
+     * @param node      변환할 JSON 노드
+     * @param writer    출력 대상
+     * @throws IOException  출력에 실패한 경우
+     */
+    public static void render(JsonNode node, Writer writer) throws IOException {
+        renderHybrid(node, writer, 0);
     }
 
     // -------------------------
     // Hybrid renderer
     // -------------------------
 
-    private static void renderHybrid(JsonNode node, StringBuilder sb, int indentLevel) {
+    private static void renderHybrid(JsonNode node, Writer out, int indentLevel) throws IOException {
         if (isContainer(node)) {
-            String inline = renderInline(node);
-            if (shouldInline(node, inline)) {
-                sb.append(inline);
+            if (shouldInline(node)) {
+                renderInline(node, out);
+            } else if (node.isObject()) {
+                renderObjectMultiline(node, out, indentLevel);
             } else {
-                if (node.isObject()) {
-                    renderObjectMultiline(node, sb, indentLevel);
-                } else {
-                    renderArrayMultiline(node, sb, indentLevel);
-                }
+                renderArrayMultiline(node, out, indentLevel);
             }
             return;
         }
 
         // scalar
-        renderScalar(node, sb);
+        renderScalar(node, out);
     }
 
     private static boolean isContainer(JsonNode node) {
         return node.isObject() || node.isArray();
     }
 
-    private static boolean shouldInline(JsonNode node, String inline) {
-        if (inline.length() > MAX_INLINE_LENGTH) return false;
+    private static boolean shouldInline(JsonNode node) {
+        // 원소 수 검사는 비용이 없으므로 먼저 수행한다.
+        if (node.size() > MAX_INLINE_ITEMS) return false;
+        return measureInline(node, MAX_INLINE_LENGTH) <= MAX_INLINE_LENGTH;
+    }
+
+    // -------------------------
+    // Bounded lookahead
+    // -------------------------
 
+    /**
+     * 노드를 한 줄로 출력했을 때의 길이를 계산한다.
+     * 계산 도중 길이가 {@code budget}을 넘으면 즉시 중단하고 {@code budget}보다 큰 값을 반환한다.
+     */
+    private static int measureInline(JsonNode node, int budget) {
         if (node.isObject()) {
-            // 입력 순 유지: node.fields() 순서를 그대로 사용
-            int fields = node.size();
-            return fields <= MAX_INLINE_ITEMS;
-        } else if (node.isArray()) {
-            int n = node.size();
-            return n <= MAX_INLINE_ITEMS;
+            int len = 2;    // "{}"
+            boolean first = true;
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext() && len <= budget) {
+                Map.Entry<String, JsonNode> e = fields.next();
+                if (!first) len += 2;   // ", "
+                first = false;
+
+                len += 4 + escapedLength(e.getKey(), budget - len);   // '' + ": "
+                if (len > budget) break;
+                len += measureInline(e.getValue(), budget - len);
+            }
+            return len;
+        }
+
+        if (node.isArray()) {
+            int len = 2;    // "[]"
+            for (int i = 0; i < node.size() && len <= budget; i++) {
+                if (i > 0) len += 2;    // ", "
+                len += measureInline(node.get(i), budget - len);
+            }
+            return len;
+        }
+
+        if (node.isTextual()) {
+            return 2 + escapedLength(node.textValue(), budget - 2);
+        }
+        return scalarText(node).length();
+    }
+
+    /**
+     * 이스케이프된 문자열의 길이를 계산한다. 길이가 {@code budget}을 넘으면 즉시 중단한다.
+     */
+    private static int escapedLength(String s, int budget) {
+        int len = 0;
+        for (int i = 0; i < s.length() && len <= budget; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\', '\'', '\n', '\r', '\t', '\b', '\f': len += 2; break;
+                default: len += (c < 0x20) ? 6 : 1;
+            }
         }
-        return true;
+        return len;
     }
 
     // -------------------------
     // Inline renderer (single line)
     // -------------------------
 
-    private static String renderInline(JsonNode node) {
-        StringBuilder sb = new StringBuilder();
-        renderInlineInternal(node, sb);
-        return sb.toString();
-    }
-
-    private static void renderInlineInternal(JsonNode node, StringBuilder sb) {
+    private static void renderInline(JsonNode node, Writer out) throws IOException {
         if (node.isObject()) {
-            sb.append("{");
+            out.write('{');
             Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
             boolean first = true;
             while (fields.hasNext()) {
                 Map.Entry<String, JsonNode> e = fields.next();
-                if (!first) sb.append(", ");
+                if (!first) out.write(", ");
                 first = false;
 
-                sb.append('\'').append(escapePythonSingleQuoted(e.getKey())).append('\'')
-                  .append(": ");
-                renderInlineInternal(e.getValue(), sb);
+                writeQuoted(e.getKey(), out);
+                out.write(": ");
+                renderInline(e.getValue(), out);
             }
-            sb.append("}");
+            out.write('}');
             return;
         }
 
         if (node.isArray()) {
-            sb.append("[");
+            out.write('[');
             for (int i = 0; i < node.size(); i++) {
-                if (i > 0) sb.append(", ");
-                renderInlineInternal(node.get(i), sb);
+                if (i > 0) out.write(", ");
+                renderInline(node.get(i), out);
             }
-            sb.append("]");
+            out.write(']');
             return;
         }
 
-        renderScalar(node, sb);
+        renderScalar(node, out);
     }
 
     // -------------------------
     // Multiline renderers
     // -------------------------
 
-    private static void renderObjectMultiline(JsonNode obj, StringBuilder sb, int indentLevel) {
-        sb.append("{");
+    private static void renderObjectMultiline(JsonNode obj, Writer out, int indentLevel) throws IOException {
+        out.write('{');
         Iterator<Map.Entry<String, JsonNode>> fields = obj.fields();
         if (!fields.hasNext()) {
-            sb.append("}");
+            out.write('}');
             return;
         }
 
-        sb.append("\n");
+        out.write('\n');
         boolean first = true;
         while (fields.hasNext()) {
             Map.Entry<String, JsonNode> e = fields.next();
-            if (!first) sb.append(",\n");
+            if (!first) out.write(",\n");
             first = false;
 
-            indent(sb, indentLevel + 1);
-            sb.append('\'').append(escapePythonSingleQuoted(e.getKey())).append('\'')
-              .append(": ");
+            indent(out, indentLevel + 1);
+            writeQuoted(e.getKey(), out);
+            out.write(": ");
 
-            renderHybrid(e.getValue(), sb, indentLevel + 1);
+            renderHybrid(e.getValue(), out, indentLevel + 1);
         }
 
-        sb.append("\n");
-        indent(sb, indentLevel);
-        sb.append("}");
+        out.write('\n');
+        indent(out, indentLevel);
+        out.write('}');
     }
 
-    private static void renderArrayMultiline(JsonNode arr, StringBuilder sb, int indentLevel) {
-        sb.append("[");
+    private static void renderArrayMultiline(JsonNode arr, Writer out, int indentLevel) throws IOException {
+        out.write('[');
         if (arr.size() == 0) {
-            sb.append("]");
+            out.write(']');
             return;
         }
 
-        sb.append("\n");
+        out.write('\n');
         for (int i = 0; i < arr.size(); i++) {
-            if (i > 0) sb.append(",\n");
-            indent(sb, indentLevel + 1);
-            renderHybrid(arr.get(i), sb, indentLevel + 1);
+            if (i > 0) out.write(",\n");
+            indent(out, indentLevel + 1);
+            renderHybrid(arr.get(i), out, indentLevel + 1);
         }
 
-        sb.append("\n");
-        indent(sb, indentLevel);
-        sb.append("]");
+        out.write('\n');
+        indent(out, indentLevel);
+        out.write(']');
     }
 
     // -------------------------
     // Scalar rendering (Python literal)
     // -------------------------
 
-    private static void renderScalar(JsonNode node, StringBuilder sb) {
+    private static void renderScalar(JsonNode node, Writer out) throws IOException {
         if (node.isTextual()) {
-            sb.append('\'').append(escapePythonSingleQuoted(node.textValue())).append('\'');
+            writeQuoted(node.textValue(), out);
             return;
         }
+        out.write(scalarText(node));
+    }
 
+    /**
+     * 문자열이 아닌 scalar 노드의 Python literal 표현을 반환한다.
+     */
+    private static String scalarText(JsonNode node) {
         if (node.isNumber()) {
             if (node.isBigDecimal()) {
                 BigDecimal bd = node.decimalValue();
-                sb.append(bd.toPlainString());
+                return bd.toPlainString();
             } else {
-                sb.append(node.numberValue().toString());
+                return node.numberValue().toString();
             }
-            return;
         }
 
         if (node.isBoolean()) {
-            sb.append(node.booleanValue() ? "True" : "False");
-            return;
+            return node.booleanValue() ? "True" : "False";
         }
 
         if (node.isNull()) {
-            sb.append("None");
-            return;
+            return "None";
         }
 
         // fallback
-        sb.append('\'').append(escapePythonSingleQuoted(node.asText())).append('\'');
+        StringWriter sw = new StringWriter();
+        try {
+            writeQuoted(node.asText(), sw);
+        }
+        catch (IOException neverHappens) {
+            throw new AssertionError(neverHappens);
+        }
+        return sw.toString();
+    }
+
+    private static void indent(Writer out, int indentLevel) throws IOException {
+        int spaces = Math.max(0, indentLevel * INDENT_SIZE);
+        while (spaces > 0) {
+            int n = Math.min(spaces, SPACES.length());
+            out.write(SPACES, 0, n);
+            spaces -= n;
+        }
     }
 
-    private static void indent(StringBuilder sb, int indentLevel) {
-        int spaces = indentLevel * INDENT_SIZE;
-        sb.append(" ".repeat(Math.max(0, spaces)));
+    /**
+     * 주어진 문자열을 이스케이프된 Python string literal로 변환한다.
+     *
+     * @param s     변환할 문자열
+     * @return      Python string literal
+     */
+    public static String toPythonString(String s) {
+        StringWriter sw = new StringWriter(s.length() + 2);
+        try {
+            writeQuoted(s, sw);
+        }
+        catch (IOException neverHappens) {
+            throw new AssertionError(neverHappens);
+        }
+        return sw.toString();
     }
 
     /**
-     * Python single-quoted string literal에 맞춘 이스케이프
+     * Python single-quoted string literal에 맞춰 이스케이프하여 출력한다.
+     * 이스케이프가 필요 없는 구간은 별도 버퍼 없이 원본 문자열에서 바로 출력한다.
      */
-    private static String escapePythonSingleQuoted(String s) {
-        StringBuilder out = new StringBuilder(s.length() + 16);
+    private static void writeQuoted(String s, Writer out) throws IOException {
+        out.write('\'');
+        int start = 0;
         for (int i = 0; i < s.length(); i++) {
             char c = s.charAt(i);
-            switch (c) {
-                case '\\': out.append("\\\\"); break;
-                case '\'': out.append("\\'"); break;
-                case '\n': out.append("\\n"); break;
-                case '\r': out.append("\\r"); break;
-                case '\t': out.append("\\t"); break;
-                case '\b': out.append("\\b"); break;
-                case '\f': out.append("\\f"); break;
-                default:
-                    if (c < 0x20) {
-                        out.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        out.append(c);
-                    }
+            String escaped = switch (c) {
+                case '\\' -> "\\\\";
+                case '\'' -> "\\'";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                case '\b' -> "\\b";
+                case '\f' -> "\\f";
+                default -> (c < 0x20) ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (escaped != null) {
+                out.write(s, start, i - start);
+                out.write(escaped);
+                start = i + 1;
             }
         }
-        return out.toString();
+        out.write(s, start, s.length() - start);
+        out.write('\'');
     }
 
     // -------------------------
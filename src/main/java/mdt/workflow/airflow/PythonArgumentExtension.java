@@ -0,0 +1,82 @@
+package mdt.workflow.airflow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import io.pebbletemplates.pebble.extension.AbstractExtension;
+import io.pebbletemplates.pebble.extension.NodeVisitor;
+import io.pebbletemplates.pebble.lexer.Token;
+import io.pebbletemplates.pebble.lexer.TokenStream;
+import io.pebbletemplates.pebble.node.AbstractRenderableNode;
+import io.pebbletemplates.pebble.node.RenderableNode;
+import io.pebbletemplates.pebble.node.expression.Expression;
+import io.pebbletemplates.pebble.parser.Parser;
+import io.pebbletemplates.pebble.template.EvaluationContextImpl;
+import io.pebbletemplates.pebble.template.PebbleTemplateImpl;
+import io.pebbletemplates.pebble.tokenParser.TokenParser;
+
+
+/**
+ * DAG 템플릿에서 task 인자를 Python 문장으로 출력하는 {@code python_argument} 태그를 제공한다.
+ * <p>
+ * {@code {% python_argument arg %}}는 {@link TaskArgument#writePythonStatement(Writer)}를 통해
+ * 인자를 템플릿 출력 {@link Writer}에 바로 출력한다. 따라서 큰 리터럴 인자도 중간 문자열을
+ * 생성하지 않고 DAG 파일에 출력된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class PythonArgumentExtension extends AbstractExtension {
+	public static final String TAG = "python_argument";
+
+	@Override
+	public List<TokenParser> getTokenParsers() {
+		return List.of(new PythonArgumentTokenParser());
+	}
+
+	private static class PythonArgumentTokenParser implements TokenParser {
+		@Override
+		public String getTag() {
+			return TAG;
+		}
+
+		@Override
+		public RenderableNode parse(Token token, Parser parser) {
+			TokenStream stream = parser.getStream();
+			int lineNumber = token.getLineNumber();
+
+			stream.next();
+			Expression<?> argExpr = parser.getExpressionParser().parseExpression();
+			stream.expect(Token.Type.EXECUTE_END);
+
+			return new PythonArgumentNode(lineNumber, argExpr);
+		}
+	}
+
+	private static class PythonArgumentNode extends AbstractRenderableNode {
+		private final Expression<?> m_argExpr;
+
+		PythonArgumentNode(int lineNumber, Expression<?> argExpr) {
+			super(lineNumber);
+			m_argExpr = argExpr;
+		}
+
+		@Override
+		public void render(PebbleTemplateImpl self, Writer writer, EvaluationContextImpl context)
+			throws IOException {
+			Object arg = m_argExpr.evaluate(self, context);
+			if ( arg instanceof TaskArgument taskArg ) {
+				taskArg.writePythonStatement(writer);
+			}
+			else {
+				throw new IllegalArgumentException(String.format("not a TaskArgument: %s (line %d)",
+																arg, getLineNumber()));
+			}
+		}
+
+		@Override
+		public void accept(NodeVisitor visitor) {
+			visitor.visit(this);
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package mdt.workflow.airflow;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  *
  * @author Kang-Woo Lee (ETRI)
@@ -9,6 +12,16 @@ public abstract class TaskArgument {
 	
 	public abstract String getPythonStatement();
 	
+	/**
+	 * 인자를 Python 문장으로 변환하여 {@code writer}에 출력한다.
+	 * 
+	 * @param writer	출력 대상.
+	 * @throws IOException	출력에 실패한 경우.
+	 */
+	public void writePythonStatement(Writer writer) throws IOException {
+		writer.write(getPythonStatement());
+	}
+	
 	protected TaskArgument(String argId) {
 		m_argId = argId.replaceAll("-", "_");
 	}
@@ -1,5 +1,9 @@
 package mdt.workflow.airflow;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 /**
  *
  * @author Kang-Woo Lee (ETRI)
@@ -24,16 +28,67 @@ public class TaskArguments {
 	}
 	
 	public static class LiteralArgument extends TaskArgument {
-		private final String m_literal;
+		private final String m_json;
+
+		/**
+		 * 리터럴 인자를 생성한다.
+		 * 
+		 * @param argId	인자 식별자.
+		 * @param json	인자 값의 JSON 표현. Python 리터럴로의 변환은 DAG 파일 생성시에 수행된다.
+		 */
+		public LiteralArgument(String argId, String json) {
+			super(argId);
+			m_json = json;
+		}
+		
+		public String getJson() {
+			return m_json;
+		}
+
+		@Override
+		public String getPythonStatement() {
+			StringWriter writer = new StringWriter();
+			try {
+				writePythonStatement(writer);
+			}
+			catch ( IOException e ) {
+				throw new IllegalArgumentException("invalid literal argument: " + getId(), e);
+			}
+			return writer.toString();
+		}
+
+		/**
+		 * 인자 값을 Python 리터럴로 변환하면서 {@code writer}에 바로 출력한다.
+		 */
+		@Override
+		public void writePythonStatement(Writer writer) throws IOException {
+			writer.write(String.format("\"%s\": literal(", getId()));
+			JsonToPythonLiteralHybrid.convertToPythonLiteralHybrid(m_json, writer);
+			writer.write(')');
+		}
+	}
+	
+	/**
+	 * DAG 파일 대신 DAG 옆의 side-car JSON 파일에 저장된 리터럴 인자.
+	 * <p>
+	 * 인자 값은 task가 수행될 때 side-car 파일에서 읽히므로 DAG 파일 파싱 비용에 포함되지 않는다.
+	 */
+	public static class ExternalLiteralArgument extends TaskArgument {
+		private final String m_key;
 
-		public LiteralArgument(String argId, String value) {
+		public ExternalLiteralArgument(String argId, String key) {
 			super(argId);
-			m_literal = value;
+			m_key = key;
+		}
+
+		public String getKey() {
+			return m_key;
 		}
 
 		@Override
 		public String getPythonStatement() {
-			return String.format("\"%s\": literal(%s)", getId(), m_literal);
+			return String.format("\"%s\": external_literal(%s)", getId(),
+									JsonToPythonLiteralHybrid.toPythonString(m_key));
 		}
 	}
 	
@@ -1,10 +1,19 @@
 package mdt.workflow.airflow;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -17,6 +26,7 @@ import mdt.task.builtin.SetTask;
 import mdt.workflow.model.ArgumentSpec;
 import mdt.workflow.model.ArgumentSpec.LiteralArgumentSpec;
 import mdt.workflow.model.ArgumentSpec.ReferenceArgumentSpec;
+import mdt.workflow.model.Option;
 import mdt.workflow.model.TaskDescriptor;
 
 /**
@@ -26,10 +36,25 @@ import mdt.workflow.model.TaskDescriptor;
 @Getter @Setter
 @Accessors(prefix = "m_")
 public class TaskSpec {
+	/** task별 Airflow 수행 제어 옵션 이름들. */
+	public static final String OPTION_POOL = "pool";
+	public static final String OPTION_POOL_SLOTS = "pool-slots";
+	public static final String OPTION_PRIORITY_WEIGHT = "priority-weight";
+	public static final String OPTION_RETRIES = "retries";
+	public static final String OPTION_EXECUTION_TIMEOUT = "execution-timeout";
+	
+	private static final Pattern POOL_NAME = Pattern.compile("[A-Za-z0-9_.\\-]+");
+	private static final Pattern SIMPLE_DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)?");
+	
 	private final String m_taskId;
-	private final List<TaskArgument> m_inputs;
-	private final List<TaskArgument> m_outputs;
+	private List<TaskArgument> m_inputs;
+	private List<TaskArgument> m_outputs;
 	private final Set<String> m_dependencies;
+	private @Nullable String m_pool;
+	private @Nullable Integer m_poolSlots;
+	private @Nullable Integer m_priorityWeight;
+	private @Nullable Integer m_retries;
+	private @Nullable Duration m_executionTimeout;
 	
 	public TaskSpec(String taskId, List<TaskArgument> inputs, List<TaskArgument> outputs, Set<String> dependencies) {
 		Preconditions.checkArgument(PythonIdentifierUtil.isValidPythonIdentifier(taskId),
@@ -44,16 +69,172 @@ public class TaskSpec {
 		return this.getClass().getSimpleName();
 	}
 	
+	/**
+	 * task가 deferrable operator로 생성되는지 여부를 반환한다.
+	 * 
+	 * @return	deferrable 여부.
+	 */
+	public boolean isDeferrable() {
+		return false;
+	}
+	
+	/**
+	 * 인자 값을 제외한 task의 형태를 나타내는 문자열을 반환한다.
+	 * <p>
+	 * 이 값이 같은 task들은 인자 값만 다르고 동일한 방식으로 수행되므로,
+	 * 하나의 {@link FanOutTaskSpec}으로 묶어 동적 매핑될 수 있다.
+	 *
+	 * @return	task 형태 문자열.
+	 */
+	public String getStructureKey() {
+		String inputs = FStream.from(m_inputs).map(TaskSpec::toArgumentShape).join(",");
+		String outputs = FStream.from(m_outputs).map(TaskSpec::toArgumentShape).join(",");
+		String deps = String.join(",", new TreeSet<>(m_dependencies));
+		return String.format("%s(%s)->(%s)@[%s]{%s}", getTaskType(), inputs, outputs, deps,
+							getDecoratorArguments());
+	}
+	
+	/**
+	 * {@code @task} 데코레이터에 추가될 인자들을 Python 코드로 반환한다.
+	 * 
+	 * @return	콤마로 구분된 Python 인자 목록. 지정된 옵션이 없는 경우는 빈 문자열.
+	 */
+	public String getDecoratorArguments() {
+		List<String> args = Lists.newArrayList();
+		if ( m_pool != null ) {
+			args.add(String.format("pool=\"%s\"", m_pool));
+		}
+		if ( m_poolSlots != null ) {
+			args.add("pool_slots=" + m_poolSlots);
+		}
+		if ( m_priorityWeight != null ) {
+			args.add("priority_weight=" + m_priorityWeight);
+		}
+		if ( m_retries != null ) {
+			args.add("retries=" + m_retries);
+		}
+		if ( m_executionTimeout != null ) {
+			args.add(String.format("execution_timeout=timedelta(seconds=%d)", m_executionTimeout.toSeconds()));
+		}
+		return String.join(", ", args);
+	}
+	
+	private static String toArgumentShape(TaskArgument arg) {
+		return arg.getId() + ":" + arg.getClass().getSimpleName();
+	}
+	
+	/**
+	 * JSON 표현의 길이가 주어진 값을 넘는 리터럴 인자들을 side-car 파일 참조 인자로 바꾼다.
+	 * 
+	 * @param threshold	외부화할 리터럴의 최소 JSON 길이 (문자 수).
+	 * @param sideCar	외부화된 리터럴이 저장될 map. key는 side-car 항목 식별자, value는 리터럴의 JSON 표현.
+	 */
+	void externalizeLiterals(int threshold, Map<String,String> sideCar) {
+		m_inputs = externalizeLiterals(m_inputs, "in", threshold, sideCar);
+		m_outputs = externalizeLiterals(m_outputs, "out", threshold, sideCar);
+	}
+	
+	private List<TaskArgument> externalizeLiterals(List<TaskArgument> args, String kind, int threshold,
+													Map<String,String> sideCar) {
+		return FStream.from(args)
+						.map(arg -> {
+							if ( arg instanceof TaskArguments.LiteralArgument literal
+								&& literal.getJson().length() > threshold ) {
+								String key = String.format("%s.%s.%s", m_taskId, kind, arg.getId());
+								sideCar.put(key, literal.getJson());
+								return (TaskArgument)new TaskArguments.ExternalLiteralArgument(arg.getId(), key);
+							}
+							return arg;
+						})
+						.toList();
+	}
+	
 	public static TaskSpec from(TaskDescriptor task) {
+		TaskSpec spec;
 		if ( AASOperationTask.class.getName().equals(task.getType()) ) {
-			return AASOperationTaskSpec.from(task);
+			spec = AASOperationTaskSpec.from(task);
 		}
 		else if ( SetTask.class.getName().equals(task.getType()) ) {
-			return SetTaskSpec.from(task);
+			spec = SetTaskSpec.from(task);
 		}
 		else {
 			throw new IllegalArgumentException("unsupported task type: " + task.getType());
 		}
+		spec.loadAirflowOptions(task);
+		
+		return spec;
+	}
+	
+	private void loadAirflowOptions(TaskDescriptor task) {
+		String pool = getOptionValue(task, OPTION_POOL);
+		if ( pool != null ) {
+			m_pool = checkPoolName(pool);
+		}
+		m_poolSlots = parseIntOption(task, OPTION_POOL_SLOTS, 1);
+		m_priorityWeight = parseIntOption(task, OPTION_PRIORITY_WEIGHT, Integer.MIN_VALUE);
+		m_retries = parseIntOption(task, OPTION_RETRIES, 0);
+		
+		String timeout = getOptionValue(task, OPTION_EXECUTION_TIMEOUT);
+		if ( timeout != null ) {
+			m_executionTimeout = parseDuration(timeout);
+		}
+	}
+	
+	static String checkPoolName(String pool) {
+		Preconditions.checkArgument(pool == null || POOL_NAME.matcher(pool).matches(),
+									"invalid Airflow pool name: %s", pool);
+		return pool;
+	}
+	
+	private static @Nullable String getOptionValue(TaskDescriptor task, String name) {
+		Option opt = task.getOptions().get(name);
+		if ( opt == null || opt.getValue() == null || opt.getValue().isBlank() ) {
+			return null;
+		}
+		return opt.getValue().trim();
+	}
+	
+	private static @Nullable Integer parseIntOption(TaskDescriptor task, String name, int min) {
+		String str = getOptionValue(task, name);
+		if ( str == null ) {
+			return null;
+		}
+		
+		try {
+			int value = Integer.parseInt(str);
+			Preconditions.checkArgument(value >= min, "invalid task option: %s=%s (task=%s)",
+										name, str, task.getId());
+			return value;
+		}
+		catch ( NumberFormatException e ) {
+			throw new IllegalArgumentException(String.format("invalid task option: %s=%s (task=%s)",
+																name, str, task.getId()));
+		}
+	}
+	
+	/**
+	 * '30s', '5m', '1h'와 같은 간단한 형식 또는 ISO-8601 형식('PT5M')의 시간 길이를 해석한다.
+	 * 단위가 생략된 경우는 초 단위로 간주한다.
+	 */
+	static Duration parseDuration(String str) {
+		Matcher matcher = SIMPLE_DURATION.matcher(str);
+		if ( matcher.matches() ) {
+			long amount = Long.parseLong(matcher.group(1));
+			String unit = matcher.group(2) != null ? matcher.group(2) : "s";
+			return switch ( unit ) {
+				case "ms" -> Duration.ofMillis(amount);
+				case "m" -> Duration.ofMinutes(amount);
+				case "h" -> Duration.ofHours(amount);
+				case "d" -> Duration.ofDays(amount);
+				default -> Duration.ofSeconds(amount);
+			};
+		}
+		try {
+			return Duration.parse(str);
+		}
+		catch ( DateTimeParseException e ) {
+			throw new IllegalArgumentException("invalid duration: " + str);
+		}
 	}
 	
 	protected static TaskArgument fromVariable(String argId, ArgumentSpec argSpec) {
@@ -63,8 +244,7 @@ public class TaskSpec {
 		else if ( argSpec instanceof LiteralArgumentSpec literalSpec ) {
 			try {
 				String jsonStr = literalSpec.readValue().toValueJsonString();
-				String pythonExpr = JsonToPythonLiteralHybrid.convertToPythonLiteralHybrid(jsonStr);
-				return new TaskArguments.LiteralArgument(argId, pythonExpr);
+				return new TaskArguments.LiteralArgument(argId, jsonStr);
 			}
 			catch ( IOException e ) {
 				throw new RuntimeException("failed to convert variable to JSON: " + argId, e);
@@ -0,0 +1,79 @@
+package mdt.workflow.argo;
+
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import mdt.model.NameValue;
+import mdt.workflow.argo.ArgoContainerTemplateDescriptor.ContainerDescriptor;
+
+
+/**
+ * 워크플로우의 모든 태스크를 하나의 POD 내의 컨테이너들로 수행시키는
+ * Argo {@code containerSet} 템플릿 기술자.
+ * <p>
+ * 태스크 사이의 선후 관계는 컨테이너 수준의 {@code dependencies}로 표현된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Getter
+@JsonInclude(Include.NON_NULL)
+public class ArgoContainerSetTemplateDescriptor implements ArgoTemplateDescriptor {
+	@NonNull private String name;
+	@NonNull private ContainerSetDescriptor containerSet;
+
+	@JsonCreator
+	public ArgoContainerSetTemplateDescriptor(@JsonProperty("name") @NonNull String name,
+											@JsonProperty("containerSet") @NonNull ContainerSetDescriptor containerSet) {
+		this.name = name;
+		this.containerSet = containerSet;
+	}
+
+	@Getter
+	public static class ContainerSetDescriptor {
+		@NonNull private List<ContainerNodeDescriptor> containers;
+
+		@JsonCreator
+		public ContainerSetDescriptor(@JsonProperty("containers") @NonNull List<ContainerNodeDescriptor> containers) {
+			this.containers = containers;
+		}
+	}
+
+	@Getter
+	@JsonInclude(Include.NON_EMPTY)
+	public static class ContainerNodeDescriptor {
+		@NonNull private final String name;
+		@NonNull private final String image;
+		private final List<String> command;
+		private final List<String> args;
+		private final List<NameValue> env;
+		private final Set<String> dependencies;
+
+		@JsonCreator
+		public ContainerNodeDescriptor(@JsonProperty("name") @NonNull String name,
+										@JsonProperty("image") @NonNull String image,
+										@JsonProperty("command") List<String> command,
+										@JsonProperty("args") List<String> args,
+										@JsonProperty("env") List<NameValue> env,
+										@JsonProperty("dependencies") Set<String> dependencies) {
+			this.name = name;
+			this.image = image;
+			this.command = command;
+			this.args = args;
+			this.env = env;
+			this.dependencies = dependencies;
+		}
+
+		public ContainerNodeDescriptor(String name, ContainerDescriptor container, Set<String> dependencies) {
+			this(name, container.getImage(), container.getCommand(), container.getArgs(), container.getEnv(),
+				dependencies);
+		}
+	}
+}
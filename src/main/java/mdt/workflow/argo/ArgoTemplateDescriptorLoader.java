@@ -1,6 +1,7 @@
 package mdt.workflow.argo;
 
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,8 @@ import mdt.task.builtin.HttpTask;
 import mdt.task.builtin.ProgramTask;
 import mdt.task.builtin.SetTask;
 import mdt.workflow.WorkflowModel;
+import mdt.workflow.argo.ArgoContainerSetTemplateDescriptor.ContainerNodeDescriptor;
+import mdt.workflow.argo.ArgoContainerSetTemplateDescriptor.ContainerSetDescriptor;
 import mdt.workflow.argo.ArgoContainerTemplateDescriptor.ContainerDescriptor;
 import mdt.workflow.argo.ArgoDagTemplateDescriptor.DagDescriptor;
 import mdt.workflow.model.ArgumentSpec;
@@ -34,6 +37,9 @@ public class ArgoTemplateDescriptorLoader {
 	
 //	private static final String MDT_CLIENT_IMAGE_ID = "kwlee0220/mdt-client";
 	private static final List<String> COMMAND_JAVA = List.of("java");
+	private static final Set<String> AIRFLOW_ONLY_OPTIONS = Set.of("fanout", "pool", "pool-slots",
+																	"priority-weight", "retries",
+																	"execution-timeout", "deferrable");
 	
 	private final WorkflowModel m_wfDesc;
 	private final String m_mdtUrl;
@@ -59,6 +65,23 @@ public class ArgoTemplateDescriptorLoader {
 		return argoTemplates;
 	}
 	
+	/**
+	 * 워크플로우 모델의 모든 태스크를 하나의 {@code containerSet} 템플릿으로 변환한다.
+	 * <p>
+	 * 각 태스크는 동일 POD 내의 컨테이너로 변환되고, 태스크 사이의 선후 관계는
+	 * 컨테이너 수준의 {@code dependencies}로 표현된다.
+	 *
+	 * @param templateName	생성될 템플릿의 이름.
+	 * @return	{@code containerSet} 템플릿 기술자.
+	 */
+	public ArgoContainerSetTemplateDescriptor loadContainerSet(String templateName) {
+		List<ContainerNodeDescriptor> containers
+					= Funcs.map(m_wfDesc.getTaskDescriptors(),
+								task -> new ContainerNodeDescriptor(task.getId(), toContainerDescriptor(task),
+																	task.getDependencies()));
+		return new ArgoContainerSetTemplateDescriptor(templateName, new ContainerSetDescriptor(containers));
+	}
+	
 	private ArgoTaskDescriptor toArgoTask(TaskDescriptor task) {
 		String tmpltId = task.getId() + "-template";
 		return new ArgoTaskDescriptor(task.getId(), tmpltId, task.getDependencies());
@@ -114,6 +137,10 @@ public class ArgoTemplateDescriptorLoader {
 					}
 					break;
 			}
+			// Airflow DAG 생성에만 사용되는 option은 argument로 추가하지 않음.
+			if ( AIRFLOW_ONLY_OPTIONS.contains(opt.getName()) ) {
+				continue;
+			}
 			opt.toCommandOptionSpec().stream().forEach(args::add);
 		}
 		
@@ -4,8 +4,11 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+import org.jetbrains.annotations.Nullable;
 import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1NodeStatus;
+import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1Template;
 import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1Workflow;
 
 import com.google.common.collect.Sets;
@@ -16,6 +19,7 @@ import utils.func.FOption;
 import utils.func.Optionals;
 import utils.stream.FStream;
 
+import mdt.model.ResourceNotFoundException;
 import mdt.workflow.NodeTask;
 import mdt.workflow.Workflow;
 import mdt.workflow.WorkflowStatus;
@@ -58,18 +62,45 @@ public final class ArgoUtils {
 		return list.isEmpty() ? null : list.get(0);
 	}
 
+	/**
+	 * 주어진 Argo 워크플로우가 MDT 워크플로우 모델로부터 생성된 것인지 여부를 반환한다.
+	 * <p>
+	 * MDT 워크플로우는 첫번째 템플릿이 DAG 템플릿이거나 {@code containerSet} 템플릿이다.
+	 *
+	 * @param argoWf	Argo 워크플로우 객체.
+	 * @return	MDT 워크플로우인 경우 true, 그렇지 않은 경우 false.
+	 */
+	public static boolean isMDTWorkflow(IoArgoprojWorkflowV1alpha1Workflow argoWf) {
+		List<IoArgoprojWorkflowV1alpha1Template> templates = argoWf.getSpec().getTemplates();
+		if ( templates == null || templates.isEmpty() ) {
+			return false;
+		}
+		
+		IoArgoprojWorkflowV1alpha1Template first = templates.get(0);
+		return first.getDag() != null || first.getContainerSet() != null;
+	}
+
 	public static Workflow toWorkflow(IoArgoprojWorkflowV1alpha1Workflow argoWf,
 										KeyedValueList<String,TaskDescriptor> taskDescList) {
+		IoArgoprojWorkflowV1alpha1Template entryTemplate = argoWf.getSpec().getTemplates().get(0);
+		
 		// Dependency 관계를 생성한다.
-		Map<String,List<String>> statusDependencies
-							= FStream.from(argoWf.getSpec().getTemplates().get(0).getDag().getTasks())
+		// containerSet 템플릿으로 수행된 경우에는 각 태스크가 컨테이너 노드로 수행되므로
+		// 컨테이너 수준의 dependency 정보를 사용한다.
+		boolean isContainerSet = entryTemplate.getContainerSet() != null;
+		Map<String,List<String>> statusDependencies = isContainerSet
+							? FStream.from(entryTemplate.getContainerSet().getContainers())
+									.toKeyValueStream(node -> node.getName(), node -> node.getDependencies())
+									.toMap()
+							: FStream.from(entryTemplate.getDag().getTasks())
 									.toKeyValueStream(dagTask -> dagTask.getName(), dagTask -> dagTask.getDependencies())
 									.toMap();
 		
 		// Task status 매핑을 생성한다.
+		String taskNodeType = isContainerSet ? "Container" : "Pod";
 		Map<String,IoArgoprojWorkflowV1alpha1NodeStatus> taskStatusMap
 													= FStream.from(argoWf.getStatus().getNodes().values())
-															.filter(nt -> nt.getType().equals("Pod"))
+															.filter(nt -> nt.getType().equals(taskNodeType))
 															.tagKey(nt -> Split.split(nt.getName(), ".").tail().get())
 															.toMap();
 		
@@ -116,6 +147,99 @@ public final class ArgoUtils {
 						.build();
 	}
 	
+	// Argo는 기본적으로 '<워크플로우 이름>-<템플릿 이름>-<노드 해시>' 형식 (v2)으로 pod 이름을 생성하며,
+	// 워크플로우에 아래 annotation이 'v1'으로 설정된 경우에는 노드 식별자를 pod 이름으로 사용한다.
+	private static final String ANNOTATION_POD_NAME_FORMAT = "workflows.argoproj.io/pod-name-format";
+	private static final int MAX_POD_NAME_PREFIX_LENGTH = 253 - 10 - 1;
+	private static final String MAIN_CONTAINER = "main";
+	
+	/**
+	 * Task가 수행된 pod와 컨테이너 이름.
+	 *
+	 * @param podName	pod 이름.
+	 * @param container	컨테이너 이름.
+	 */
+	public record TaskContainer(String podName, String container) { }
+
+	/**
+	 * 주어진 Argo 워크플로우의 상태 정보로부터 task가 수행된 pod와 컨테이너를 찾는다.
+	 * <p>
+	 * DAG 템플릿으로 수행된 경우는 task별 pod의 'main' 컨테이너를, {@code containerSet} 템플릿으로
+	 * 수행된 경우는 공유 pod 내의 task 이름의 컨테이너를 반환한다. Task가 재시도된 경우에는
+	 * {@code tryNumber}번째 시도 (1부터 시작)를, 지정되지 않은 경우는 마지막 시도를 반환한다.
+	 *
+	 * @param argoWf	Argo 워크플로우 객체.
+	 * @param taskId	task 식별자.
+	 * @param tryNumber	시도 번호. {@code null}인 경우는 마지막 시도.
+	 * @return	pod와 컨테이너 이름.
+	 * @throws ResourceNotFoundException	task가 아직 수행되지 않았거나 해당 시도가 없는 경우.
+	 */
+	public static TaskContainer findTaskContainer(IoArgoprojWorkflowV1alpha1Workflow argoWf, String taskId,
+													@Nullable Integer tryNumber) throws ResourceNotFoundException {
+		String wfName = argoWf.getMetadata().getName();
+		Map<String,IoArgoprojWorkflowV1alpha1NodeStatus> nodes = (argoWf.getStatus() != null)
+																? argoWf.getStatus().getNodes() : null;
+		if ( nodes == null ) {
+			throw new ResourceNotFoundException("WorkflowTask", String.format("workflow=%s, task=%s", wfName, taskId));
+		}
+		
+		IoArgoprojWorkflowV1alpha1NodeStatus taskNode
+					= nodes.values().stream()
+							.filter(node -> taskId.equals(node.getDisplayName()))
+							.filter(node -> List.of("Pod", "Container", "Retry").contains(node.getType()))
+							.findFirst()
+							.orElseThrow(() -> new ResourceNotFoundException("WorkflowTask",
+														String.format("workflow=%s, task=%s", wfName, taskId)));
+		if ( "Retry".equals(taskNode.getType()) ) {
+			// 재시도 노드의 자식들이 각 시도의 pod 노드들이다 ('<task>(0)', '<task>(1)', ...).
+			List<String> attempts = Objects.requireNonNullElse(taskNode.getChildren(), List.<String>of()).stream()
+											.filter(nodes::containsKey)
+											.toList();
+			int index = (tryNumber != null) ? tryNumber - 1 : attempts.size() - 1;
+			if ( index < 0 || index >= attempts.size() ) {
+				throw new ResourceNotFoundException("WorkflowTask",
+									String.format("workflow=%s, task=%s, try=%s", wfName, taskId, tryNumber));
+			}
+			taskNode = nodes.get(attempts.get(index));
+		}
+		
+		if ( "Container".equals(taskNode.getType()) ) {
+			// containerSet의 컨테이너 노드는 공유 pod 노드의 자식이다.
+			String containerNodeId = taskNode.getId();
+			IoArgoprojWorkflowV1alpha1NodeStatus podNode
+					= nodes.values().stream()
+							.filter(node -> "Pod".equals(node.getType()))
+							.filter(node -> node.getChildren() != null && node.getChildren().contains(containerNodeId))
+							.findFirst()
+							.orElseThrow(() -> new ResourceNotFoundException("WorkflowTask",
+														String.format("workflow=%s, task=%s", wfName, taskId)));
+			return new TaskContainer(toPodName(argoWf, podNode), taskId);
+		}
+		else {
+			return new TaskContainer(toPodName(argoWf, taskNode), MAIN_CONTAINER);
+		}
+	}
+	
+	private static String toPodName(IoArgoprojWorkflowV1alpha1Workflow argoWf,
+									IoArgoprojWorkflowV1alpha1NodeStatus podNode) {
+		String wfName = argoWf.getMetadata().getName();
+		Map<String,String> annots = argoWf.getMetadata().getAnnotations();
+		if ( annots != null && "v1".equals(annots.get(ANNOTATION_POD_NAME_FORMAT)) ) {
+			return podNode.getId();
+		}
+		if ( wfName.equals(podNode.getName()) ) {
+			return wfName;
+		}
+		
+		// v2 형식의 노드 식별자는 '<워크플로우 이름>-<노드 해시>'이고, pod 이름도 같은 노드 해시를 사용한다.
+		String prefix = wfName + "-" + podNode.getTemplateName();
+		if ( prefix.length() > MAX_POD_NAME_PREFIX_LENGTH ) {
+			prefix = prefix.substring(0, MAX_POD_NAME_PREFIX_LENGTH);
+		}
+		String hash = podNode.getId().substring(wfName.length() + 1);
+		return prefix + "-" + hash;
+	}
+	
 	private static NodeTask toNodeTask(TaskDescriptor task,
 										IoArgoprojWorkflowV1alpha1NodeStatus status, List<String> statusDeps) {
 		if ( status != null ) {
@@ -5,12 +5,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator.Feature;
+import com.google.common.collect.Maps;
 
 import lombok.Getter;
 import lombok.NonNull;
@@ -26,12 +30,36 @@ import mdt.workflow.WorkflowModel;
  */
 @Getter
 public class ArgoWorkflowDescriptor {
+	private static final String ENTRYPOINT_DAG = "dag";
+	private static final String ENTRYPOINT_CONTAINER_SET = "container-set";
+	/** 워크플로우 생성에 사용된 모델 버전 (내용 해시)을 기록하는 annotation 이름. */
+	public static final String ANNOTATION_MODEL_VERSION = "mdt.workflow/model-version";
+	
 	private final String apiVersion = "argoproj.io/v1alpha1";
 	private final String kind = "Workflow";
 	private final Metadata metadata;
 	private final Spec spec;
 
 	public ArgoWorkflowDescriptor(WorkflowModel wfDesc, String mdtUrl, String mdtClientImageName) {
+		this(wfDesc, mdtUrl, mdtClientImageName, 0);
+	}
+	
+	/**
+	 * Argo 워크플로우 기술자를 생성한다.
+	 * <p>
+	 * 워크플로우 모델의 태스크 수가 {@code containerSetMaxTasks} 이하인 경우에는
+	 * 태스크별로 POD를 생성하는 DAG 템플릿 대신, 모든 태스크를 하나의 POD 내의 컨테이너들로
+	 * 수행시키는 {@code containerSet} 템플릿을 생성한다.
+	 * 작은 워크플로우의 경우 POD 스케줄링 비용을 한 번만 지불하게 된다.
+	 *
+	 * @param wfDesc	워크플로우 모델.
+	 * @param mdtUrl	MDT 관리자 접속 URL.
+	 * @param mdtClientImageName	태스크 수행에 사용할 MDT client 도커 이미지 이름.
+	 * @param containerSetMaxTasks	{@code containerSet} 템플릿을 사용할 최대 태스크 수.
+	 * 							0 이하인 경우에는 항상 DAG 템플릿을 사용한다.
+	 */
+	public ArgoWorkflowDescriptor(WorkflowModel wfDesc, String mdtUrl, String mdtClientImageName,
+									int containerSetMaxTasks) {
 		this.metadata = new Metadata(wfDesc.getId().toLowerCase() + "-");
 		
 		String paramMdtUrl = "{{workflow.parameters.mdt-url}}";
@@ -45,13 +73,34 @@ public class ArgoWorkflowDescriptor {
 				NameValue.of("mdt-client-image", mdtClientImageName)
 			)
 		);
-		List<ArgoTemplateDescriptor> templates = loader.load();
-		this.spec = new Spec(wfDesc, args, templates);
+		
+		int nTasks = wfDesc.getTaskDescriptors().size();
+		if ( nTasks > 0 && nTasks <= containerSetMaxTasks ) {
+			ArgoTemplateDescriptor tmplt = loader.loadContainerSet(ENTRYPOINT_CONTAINER_SET);
+			this.spec = new Spec(ENTRYPOINT_CONTAINER_SET, args, List.of(tmplt));
+		}
+		else {
+			List<ArgoTemplateDescriptor> templates = loader.load();
+			this.spec = new Spec(ENTRYPOINT_DAG, args, templates);
+		}
+	}
+	
+	/**
+	 * 이 워크플로우가 생성된 모델 버전을 annotation으로 기록한다.
+	 * 
+	 * @param versionHash	모델 버전의 내용 해시.
+	 * @return	이 기술자 객체.
+	 */
+	public ArgoWorkflowDescriptor withModelVersion(String versionHash) {
+		this.metadata.annotations.put(ANNOTATION_MODEL_VERSION, versionHash);
+		return this;
 	}
 	
 	@Getter
 	public static class Metadata {
 		private final String generateName;
+		@JsonInclude(Include.NON_EMPTY)
+		private final Map<String,String> annotations = Maps.newLinkedHashMap();
 		
 		public Metadata(@JsonProperty("generateName") String generateName) {
 			this.generateName = generateName;
@@ -64,8 +113,8 @@ public class ArgoWorkflowDescriptor {
 		private final Arguments arguments;
 		@NonNull private final List<ArgoTemplateDescriptor> templates;
 		
-		public Spec(WorkflowModel wfDesc, Arguments arguments, List<ArgoTemplateDescriptor> templates) {
-			this.entrypoint = "dag";
+		public Spec(String entrypoint, Arguments arguments, List<ArgoTemplateDescriptor> templates) {
+			this.entrypoint = entrypoint;
 			this.arguments = arguments;
 			this.templates = templates;
 		}
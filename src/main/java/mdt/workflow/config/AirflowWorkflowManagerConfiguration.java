@@ -1,10 +1,16 @@
 package mdt.workflow.config;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import com.google.common.collect.Maps;
+
+import mdt.workflow.airflow.AirflowDagOptions;
+
 
 /**
  *
@@ -16,6 +22,16 @@ public class AirflowWorkflowManagerConfiguration {
 	private String m_mdtUrl;
 	private String m_airflowBaseUrl;
 	private File m_dagsFolder;
+	private int m_pageSize = 100;
+	private Duration m_tokenRenewMargin = Duration.ofMinutes(5);
+	private int m_maxConcurrentRequests = 8;
+	private boolean m_reparseOnPublish = false;
+	private int m_cacheMaxEntries = 1000;
+	private Duration m_dagRunCacheTtl = Duration.ofSeconds(2);
+	private Duration m_taskInstanceCacheTtl = Duration.ofSeconds(2);
+	private Duration m_logPollInterval = Duration.ofSeconds(2);
+	private AirflowDagOptions m_dagDefaults = new AirflowDagOptions();
+	private Map<String,AirflowDagOptions> m_modelDagOptions = Maps.newHashMap();
 	
 	public String getMdtUrl() {
 		return m_mdtUrl;
@@ -40,4 +56,147 @@ public class AirflowWorkflowManagerConfiguration {
 	public void setDagsFolder(File dagsFolder) {
 		m_dagsFolder = dagsFolder;
 	}
+	
+	/**
+	 * Airflow 목록 조회 API 호출시 한번에 요청할 페이지의 최대 항목 수를 반환한다.
+	 * 
+	 * @return	페이지 크기.
+	 */
+	public int getPageSize() {
+		return m_pageSize;
+	}
+	
+	public void setPageSize(int size) {
+		m_pageSize = size;
+	}
+	
+	/**
+	 * Airflow JWT 토큰을 만료 시각보다 얼마나 먼저 갱신할지를 반환한다.
+	 * 
+	 * @return	토큰 갱신 여유 시간.
+	 */
+	public Duration getTokenRenewMargin() {
+		return m_tokenRenewMargin;
+	}
+	
+	public void setTokenRenewMargin(Duration margin) {
+		m_tokenRenewMargin = margin;
+	}
+	
+	/**
+	 * Airflow로 동시에 보낼 수 있는 최대 요청 수를 반환한다.
+	 * 
+	 * @return	최대 동시 요청 수.
+	 */
+	public int getMaxConcurrentRequests() {
+		return m_maxConcurrentRequests;
+	}
+	
+	public void setMaxConcurrentRequests(int count) {
+		m_maxConcurrentRequests = count;
+	}
+	
+	/**
+	 * DAG 파일이 변경된 경우 Airflow에게 해당 파일만의 재파싱을 요청할지 여부를 반환한다.
+	 * 
+	 * @return	재파싱 요청 여부.
+	 */
+	public boolean isReparseOnPublish() {
+		return m_reparseOnPublish;
+	}
+	
+	public void setReparseOnPublish(boolean flag) {
+		m_reparseOnPublish = flag;
+	}
+	
+	/**
+	 * Airflow 응답 캐쉬에 저장할 최대 항목 수를 반환한다.
+	 * 
+	 * @return	최대 항목 수.
+	 */
+	public int getCacheMaxEntries() {
+		return m_cacheMaxEntries;
+	}
+	
+	public void setCacheMaxEntries(int count) {
+		m_cacheMaxEntries = count;
+	}
+	
+	/**
+	 * 수행 중인 DagRun 조회 결과의 캐쉬 유효 기간을 반환한다.
+	 * 종료된 DagRun은 유효 기간과 무관하게 만료되지 않는다.
+	 * 
+	 * @return	캐쉬 유효 기간.
+	 */
+	public Duration getDagRunCacheTtl() {
+		return m_dagRunCacheTtl;
+	}
+	
+	public void setDagRunCacheTtl(Duration ttl) {
+		m_dagRunCacheTtl = ttl;
+	}
+	
+	/**
+	 * TaskInstance 목록 조회 결과의 캐쉬 유효 기간을 반환한다.
+	 * 모든 TaskInstance가 종료된 목록은 유효 기간과 무관하게 만료되지 않는다.
+	 * 
+	 * @return	캐쉬 유효 기간.
+	 */
+	public Duration getTaskInstanceCacheTtl() {
+		return m_taskInstanceCacheTtl;
+	}
+	
+	public void setTaskInstanceCacheTtl(Duration ttl) {
+		m_taskInstanceCacheTtl = ttl;
+	}
+	
+	/**
+	 * Task 로그를 follow 모드로 출력할 때 새로 추가된 로그를 확인하는 주기를 반환한다.
+	 * 
+	 * @return	로그 확인 주기.
+	 */
+	public Duration getLogPollInterval() {
+		return m_logPollInterval;
+	}
+	
+	public void setLogPollInterval(Duration interval) {
+		m_logPollInterval = interval;
+	}
+	
+	/**
+	 * 모든 워크플로우 모델의 DAG에 공통으로 적용될 수행 제어 설정을 반환한다.
+	 * 
+	 * @return	DAG 수행 제어 설정.
+	 */
+	public AirflowDagOptions getDagDefaults() {
+		return m_dagDefaults;
+	}
+	
+	public void setDagDefaults(AirflowDagOptions options) {
+		m_dagDefaults = options;
+	}
+	
+	/**
+	 * 워크플로우 모델 식별자별로 지정된 DAG 수행 제어 설정을 반환한다.
+	 * 
+	 * @return	모델 식별자를 key로 하는 DAG 수행 제어 설정.
+	 */
+	public Map<String,AirflowDagOptions> getModelDagOptions() {
+		return m_modelDagOptions;
+	}
+	
+	public void setModelDagOptions(Map<String,AirflowDagOptions> options) {
+		m_modelDagOptions = options;
+	}
+	
+	/**
+	 * 주어진 워크플로우 모델의 DAG에 적용될 수행 제어 설정을 반환한다.
+	 * 모델별로 지정된 설정이 공통 설정보다 우선한다.
+	 * 
+	 * @param wfModelId	워크플로우 모델 식별자.
+	 * @return	DAG 수행 제어 설정.
+	 */
+	public AirflowDagOptions getDagOptions(String wfModelId) {
+		return m_dagDefaults.overriddenBy(m_modelDagOptions.get(wfModelId));
+	}
 }
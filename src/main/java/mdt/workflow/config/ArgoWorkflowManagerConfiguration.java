@@ -1,5 +1,7 @@
 package mdt.workflow.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +18,9 @@ public class ArgoWorkflowManagerConfiguration {
 	private String m_argoNamespace;
 	private String m_mdtUrl;
 	private String m_clientDockerImage;
+	private int m_containerSetMaxTasks = 0;
+	private int m_cacheMaxEntries = 1000;
+	private Duration m_workflowCacheTtl = Duration.ofSeconds(2);
 	
 	private String m_executionTimeEstimatorEndpoint;
 	
@@ -51,6 +56,47 @@ public class ArgoWorkflowManagerConfiguration {
 		m_clientDockerImage = image;
 	}
 	
+	/**
+	 * 워크플로우를 하나의 POD ({@code containerSet} 템플릿)로 수행시킬 최대 태스크 수를 반환한다.
+	 * 0 이하인 경우에는 항상 태스크별로 POD를 생성하는 DAG 템플릿을 사용한다.
+	 * 
+	 * @return	최대 태스크 수.
+	 */
+	public int getContainerSetMaxTasks() {
+		return m_containerSetMaxTasks;
+	}
+	
+	public void setContainerSetMaxTasks(int count) {
+		m_containerSetMaxTasks = count;
+	}
+	
+	/**
+	 * Argo 워크플로우 조회 결과 캐쉬에 저장할 최대 항목 수를 반환한다.
+	 * 
+	 * @return	최대 항목 수.
+	 */
+	public int getCacheMaxEntries() {
+		return m_cacheMaxEntries;
+	}
+	
+	public void setCacheMaxEntries(int count) {
+		m_cacheMaxEntries = count;
+	}
+	
+	/**
+	 * 수행 중인 Argo 워크플로우 조회 결과의 캐쉬 유효 기간을 반환한다.
+	 * 종료된 워크플로우는 유효 기간과 무관하게 만료되지 않는다.
+	 * 
+	 * @return	캐쉬 유효 기간.
+	 */
+	public Duration getWorkflowCacheTtl() {
+		return m_workflowCacheTtl;
+	}
+	
+	public void setWorkflowCacheTtl(Duration ttl) {
+		m_workflowCacheTtl = ttl;
+	}
+	
 	public String getExecutionTimeEstimatorEndpoint() {
 		return m_executionTimeEstimatorEndpoint;
 	}
@@ -0,0 +1,45 @@
+package mdt.workflow.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mdt.workflow-manager.history")
+public class WorkflowHistoryConfiguration {
+	private Duration m_pollInterval = Duration.ofSeconds(30);
+	private int m_estimationMinSamples = 10;
+	
+	/**
+	 * 워크플로우 백엔드 (Argo, Airflow)로부터 종료된 워크플로우 인스턴스를 수집하는 주기를 반환한다.
+	 * 0 이하인 경우에는 주기적으로 수집하지 않으며, 조회된 종료 워크플로우만 이력에 저장된다.
+	 * 
+	 * @return	수집 주기.
+	 */
+	public Duration getPollInterval() {
+		return m_pollInterval;
+	}
+	
+	public void setPollInterval(Duration interval) {
+		m_pollInterval = interval;
+	}
+	
+	/**
+	 * 서브모델 수행 시간 예측을 외부 예측기 대신 로컬 수행 시간 통계로 답하기 위해 필요한 최소 표본 수를 반환한다.
+	 * 0 이하인 경우에는 로컬 통계를 사용하지 않는다.
+	 * 
+	 * @return	최소 표본 수.
+	 */
+	public int getEstimationMinSamples() {
+		return m_estimationMinSamples;
+	}
+	
+	public void setEstimationMinSamples(int count) {
+		m_estimationMinSamples = count;
+	}
+}
@@ -0,0 +1,103 @@
+package mdt.workflow.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mdt.workflow-manager.model")
+public class WorkflowModelManagerConfiguration {
+	private int m_cacheMaxEntries = 500;
+	private Duration m_cacheTtl = Duration.ofMinutes(10);
+	private String m_invalidationChannel = "mdt_workflow_model_changed";
+	private Duration m_invalidationRetryInterval = Duration.ofSeconds(5);
+	private int m_importBatchSize = 100;
+	private int m_importConcurrency = 8;
+
+	/**
+	 * 파싱된 워크플로우 모델 캐쉬에 저장할 최대 모델 수를 반환한다.
+	 *
+	 * @return	최대 항목 수.
+	 */
+	public int getCacheMaxEntries() {
+		return m_cacheMaxEntries;
+	}
+
+	public void setCacheMaxEntries(int count) {
+		m_cacheMaxEntries = count;
+	}
+
+	/**
+	 * 캐쉬된 워크플로우 모델의 유효 기간을 반환한다.
+	 * <p>
+	 * 모델 변경은 다른 manager 인스턴스들에게 즉시 통보되므로, 유효 기간은 통보가 유실된 경우
+	 * (예: DB 연결 단절) 낡은 모델이 사용될 수 있는 최대 시간이 된다.
+	 *
+	 * @return	캐쉬 유효 기간.
+	 */
+	public Duration getCacheTtl() {
+		return m_cacheTtl;
+	}
+
+	public void setCacheTtl(Duration ttl) {
+		m_cacheTtl = ttl;
+	}
+
+	/**
+	 * 모델 변경 통보에 사용할 PostgreSQL {@code LISTEN/NOTIFY} 채널 이름을 반환한다.
+	 *
+	 * @return	채널 이름.
+	 */
+	public String getInvalidationChannel() {
+		return m_invalidationChannel;
+	}
+
+	public void setInvalidationChannel(String channel) {
+		m_invalidationChannel = channel;
+	}
+
+	/**
+	 * 모델 변경 통보 수신을 위한 DB 연결이 끊어진 경우, 다시 연결을 시도할 때까지의 대기 시간을 반환한다.
+	 *
+	 * @return	재연결 대기 시간.
+	 */
+	public Duration getInvalidationRetryInterval() {
+		return m_invalidationRetryInterval;
+	}
+
+	public void setInvalidationRetryInterval(Duration interval) {
+		m_invalidationRetryInterval = interval;
+	}
+
+	/**
+	 * 모델 일괄 등록시 하나의 JDBC batch로 저장할 모델 수를 반환한다.
+	 * 일괄 등록되는 모델들은 이 수만큼씩 읽혀 저장되므로, 전체 모델이 한번에 메모리에 적재되지 않는다.
+	 *
+	 * @return	batch 크기.
+	 */
+	public int getImportBatchSize() {
+		return m_importBatchSize;
+	}
+
+	public void setImportBatchSize(int size) {
+		m_importBatchSize = size;
+	}
+
+	/**
+	 * 모델 일괄 등록시 워크플로우 백엔드 등록 (DAG 파일 생성 등)을 동시에 수행할 최대 수를 반환한다.
+	 *
+	 * @return	최대 동시 수행 수.
+	 */
+	public int getImportConcurrency() {
+		return m_importConcurrency;
+	}
+
+	public void setImportConcurrency(int count) {
+		m_importConcurrency = count;
+	}
+}
@@ -15,6 +15,7 @@ import utils.Utilities;
 import utils.stream.FStream;
 
 import mdt.workflow.WorkflowStatus;
+import mdt.workflow.domain.WorkflowModelSummary;
 import mdt.workflow.service.MDTWorkflowManager;
 
 
@@ -30,8 +31,8 @@ public class MDTWorkflowListCandidatesController {
     @GetMapping("/models")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<?> listCandidateModels() {
-    	String output = FStream.from(m_wfManager.getWorkflowModelAll())
-								.map(model -> model.getId())
+    	String output = FStream.from(m_wfManager.getWorkflowModelSummaryAll())
+								.map(WorkflowModelSummary::id)
 								.join(Utilities.getLineSeparator());
     	return ResponseEntity.ok(output);
     }
@@ -1,10 +1,23 @@
 package mdt.workflow.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +32,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -49,7 +66,14 @@ import mdt.model.expr.MDTExpressionParser;
 import mdt.model.sm.ref.MDTSubmodelReference;
 import mdt.workflow.Workflow;
 import mdt.workflow.WorkflowModel;
+import mdt.workflow.WorkflowStatus;
 import mdt.workflow.config.ArgoWorkflowManagerConfiguration;
+import mdt.workflow.domain.TaskDurationStats;
+import mdt.workflow.domain.WorkflowModelImportResult;
+import mdt.workflow.domain.WorkflowModelReference;
+import mdt.workflow.domain.WorkflowModelSummary;
+import mdt.workflow.domain.WorkflowModelVersionInfo;
+import mdt.workflow.service.JpaWorkflowModelManager;
 import mdt.workflow.service.MDTWorkflowManager;
 
 
@@ -85,20 +109,169 @@ public class MDTWorkflowManagerController {
     }
 
     @Tag(name = "워크플로우 모델 관리 API")
-    @Operation(summary = "등록된 모든 워크플로우 모델들을 반환한다.")
-    @Parameters()
+    @Operation(summary = "식별자에 해당하는 워크플로우 모델의 버전 변경 기록을 최근 기록부터 반환한다.")
+    @Parameters({
+    	@Parameter(name = "id", description = "워크플로우 모델 식별자")
+    })
     @ApiResponses(value = {
     	@ApiResponse(responseCode = "200", description = "성공",
     		content = {
     			@Content(mediaType = "application/json",
-    					array = @ArraySchema(schema=@Schema(implementation = WorkflowModel.class)))
+    					array = @ArraySchema(schema=@Schema(implementation = WorkflowModelVersionInfo.class)))
     		}
     	)
     })
+    @GetMapping("/models/{id}/versions")
+    @ResponseStatus(HttpStatus.OK)
+    public List<WorkflowModelVersionInfo> getWorkflowModelVersions(@PathVariable("id") String id) {
+    	return m_wfManager.getWorkflowModelVersions(id);
+    }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "내용 해시에 해당하는 워크플로우 모델 버전을 반환한다.")
+    @Parameters({
+    	@Parameter(name = "hash", description = "모델 버전의 내용 해시")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+			content = {
+				@Content(schema = @Schema(implementation = WorkflowModel.class), mediaType = "application/json")
+			}),
+    	@ApiResponse(responseCode = "404", description = "해시에 해당하는 모델 버전이 없는 경우.")
+    })
+    @GetMapping("/model-versions/{hash}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<WorkflowModel> getWorkflowModelVersion(@PathVariable("hash") String hash) {
+    	// 버전은 변경되지 않으므로 client도 무기한 캐쉬할 수 있다.
+    	return ResponseEntity.ok()
+    						.cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+    						.eTag(hash)
+    						.body(m_wfManager.getWorkflowModelVersion(hash));
+    }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "등록된 워크플로우 모델들을 식별자 순서로 반환한다.",
+    			description = "'limit'이 지정된 경우에는 'after' 다음의 모델들을 최대 'limit'개 반환하며, "
+    						+ "반환된 모델 수가 'limit'과 같으면 다음 페이지 조회에 사용할 'after' 값을 "
+    						+ NEXT_AFTER_HEADER + " 헤더로 반환한다. 'stream'이 true인 경우에는 모든 모델을 "
+    						+ "메모리에 적재하지 않고 페이지 단위로 읽어 하나의 JSON 배열로 출력한다.")
+    @Parameters({
+    	@Parameter(name = "after", description = "이전 페이지의 마지막 모델 식별자. 생략시 첫 모델부터 반환한다."),
+    	@Parameter(name = "limit", description = "최대 모델 수. 생략시 모든 모델을 반환한다."),
+    	@Parameter(name = "stream", description = "모델들을 페이지 단위로 읽어 스트리밍할지 여부.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json",
+    					array = @ArraySchema(schema=@Schema(implementation = WorkflowModel.class)))
+    		}
+    	),
+    	@ApiResponse(responseCode = "400", description = "'limit' 값이 유효하지 않은 경우.")
+    })
     @GetMapping("/models")
     @ResponseStatus(HttpStatus.OK)
-    public List<WorkflowModel> getWorkflowModelAll() {
-    	return m_wfManager.getWorkflowModelAll();
+    public ResponseEntity<?> getWorkflowModelAll(@RequestParam(name="after", required=false) String after,
+    											@RequestParam(name="limit", required=false) Integer limit,
+    											@RequestParam(name="stream", defaultValue="false") boolean stream) {
+    	if ( stream ) {
+    		Preconditions.checkArgument(limit == null || limit > 0, "invalid limit: %s", limit);
+    		StreamingResponseBody body = out -> streamWorkflowModels(after, limit, out);
+    		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    	}
+    	else if ( limit == null && after == null ) {
+    		return ResponseEntity.ok(m_wfManager.getWorkflowModelAll());
+    	}
+    	
+    	int pageSize = (limit != null) ? limit : JpaWorkflowModelManager.MAX_PAGE_SIZE;
+    	List<WorkflowModel> page = m_wfManager.getWorkflowModelPage(after, pageSize);
+    	ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    	if ( page.size() == pageSize ) {
+    		builder.header(NEXT_AFTER_HEADER, page.get(page.size()-1).getId());
+    	}
+    	return builder.body(page);
+    }
+    
+    private static final String NEXT_AFTER_HEADER = "X-Next-After";
+    private static final int STREAM_PAGE_SIZE = 100;
+    private void streamWorkflowModels(String after, Integer limit, OutputStream out) throws IOException {
+    	ObjectMapper mapper = MDTModelSerDe.getJsonMapper();
+    	try ( JsonGenerator gen = mapper.getFactory().createGenerator(out) ) {
+    		gen.writeStartArray();
+    		
+    		int remains = (limit != null) ? limit : Integer.MAX_VALUE;
+    		String cursor = after;
+    		while ( remains > 0 ) {
+    			int pageSize = Math.min(remains, STREAM_PAGE_SIZE);
+    			List<WorkflowModel> page = m_wfManager.getWorkflowModelPage(cursor, pageSize);
+    			for ( WorkflowModel wfModel: page ) {
+    				mapper.writeValue(gen, wfModel);
+    			}
+    			gen.flush();
+    			
+    			if ( page.size() < pageSize ) {
+    				break;
+    			}
+    			remains -= page.size();
+    			cursor = page.get(page.size()-1).getId();
+    		}
+    		
+    		gen.writeEndArray();
+    	}
+    }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "주어진 MDT 인스턴스, 서브모델 또는 SubmodelElement를 참조하는 워크플로우 모델들의 식별자를 반환한다.",
+    			description = "'instance', 'submodel', 'element' 중 하나만 지정해야 한다. 참조는 모델 등록시 "
+    						+ "역색인되므로 등록된 모델들을 읽지 않고 색인 조회 한번으로 처리된다.")
+    @Parameters({
+    	@Parameter(name = "instance", description = "MDT 인스턴스 식별자.", example = "inspector"),
+    	@Parameter(name = "submodel", description = "'인스턴스 식별자:서브모델 idShort' 또는 서브모델 idShort.",
+    				example = "ThicknessInspection"),
+    	@Parameter(name = "element", description = "SubmodelElement 참조 표현식.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json", array = @ArraySchema(schema=@Schema(implementation = String.class)))
+    		}
+    	),
+    	@ApiResponse(responseCode = "400", description = "검색 대상이 하나만 지정되지 않은 경우.")
+    })
+    @GetMapping("/model-references")
+    @ResponseStatus(HttpStatus.OK)
+    public List<String> findWorkflowModelIdsByReference(@RequestParam(name="instance", required=false) String instanceId,
+    													@RequestParam(name="submodel", required=false) String submodel,
+    													@RequestParam(name="element", required=false) String element) {
+    	int count = (instanceId != null ? 1 : 0) + (submodel != null ? 1 : 0) + (element != null ? 1 : 0);
+    	Preconditions.checkArgument(count == 1, "exactly one of 'instance', 'submodel' or 'element' is required");
+    	
+    	if ( instanceId != null ) {
+    		return m_wfManager.findWorkflowModelIdsByReference(WorkflowModelReference.Kind.INSTANCE, instanceId);
+    	}
+    	else if ( submodel != null ) {
+    		return m_wfManager.findWorkflowModelIdsByReference(WorkflowModelReference.Kind.SUBMODEL, submodel);
+    	}
+    	else {
+    		return m_wfManager.findWorkflowModelIdsByReference(WorkflowModelReference.Kind.ELEMENT, element);
+    	}
+    }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "등록된 모든 워크플로우 모델들의 요약 정보를 식별자 순서로 반환한다.")
+    @Parameters()
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json",
+    					array = @ArraySchema(schema=@Schema(implementation = WorkflowModelSummary.class)))
+    		}
+    	)
+    })
+    @GetMapping("/model-summaries")
+    @ResponseStatus(HttpStatus.OK)
+    public List<WorkflowModelSummary> getWorkflowModelSummaryAll() {
+    	return m_wfManager.getWorkflowModelSummaryAll();
     }
 
     @Tag(name = "워크플로우 모델 관리 API")
@@ -127,6 +300,62 @@ public class MDTWorkflowManagerController {
     	return wfModel;
     }
 
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "JSON 배열 또는 NDJSON 형식으로 주어진 워크플로우 모델들을 일괄 등록시킨다.",
+    			description = "모델들은 batch 단위로 읽혀 저장되며, 모델별 등록 결과를 입력 순서대로 반환한다.")
+    @Parameters({
+    	@Parameter(name = "updateIfExists", description = "같은 식별자의 모델이 이미 있는 경우 교체할지 여부.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+			content = {
+				@Content(mediaType = "application/json",
+						array = @ArraySchema(schema=@Schema(implementation = WorkflowModelImportResult.class)))
+			}),
+    	@ApiResponse(responseCode = "400", description = "워크플로우 모델 파싱에 실패한 경우.")
+    })
+    @PostMapping(value = "/model-import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public List<WorkflowModelImportResult> importWorkflowModels(InputStream body,
+										@RequestParam(name="updateIfExists", defaultValue="false") boolean updateIfExists)
+    	throws IOException {
+    	return m_wfManager.importWorkflowModels(body, updateIfExists);
+    }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "등록된 모든 워크플로우 모델을 NDJSON 형식으로 출력한다.",
+    			description = "모델들은 페이지 단위로 읽혀 출력되므로 전체 모델을 메모리에 적재하지 않는다.")
+    @Parameters({
+    	@Parameter(name = "gzip", description = "출력을 gzip으로 압축할지 여부.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+			content = {
+				@Content(mediaType = "application/x-ndjson"),
+				@Content(mediaType = "application/gzip")
+			})
+    })
+    @GetMapping("/model-export")
+    public ResponseEntity<StreamingResponseBody> exportWorkflowModels(
+    										@RequestParam(name="gzip", defaultValue="false") boolean gzip) {
+    	if ( gzip ) {
+    		StreamingResponseBody body = out -> {
+    			try ( GZIPOutputStream gzout = new GZIPOutputStream(out) ) {
+    				m_wfManager.exportWorkflowModels(gzout);
+    			}
+    		};
+    		return ResponseEntity.ok()
+    							.contentType(new MediaType("application", "gzip"))
+    							.header(HttpHeaders.CONTENT_DISPOSITION,
+    									"attachment; filename=\"workflow-models.ndjson.gz\"")
+    							.body(body);
+    	}
+    	else {
+    		StreamingResponseBody body = out -> m_wfManager.exportWorkflowModels(out);
+    		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    	}
+    }
+
     @Tag(name = "워크플로우 모델 관리 API")
     @Operation(summary = "식별자에 해당하는 워크플로우 모델을 삭제한다.")
     @Parameters({
@@ -171,11 +400,27 @@ public class MDTWorkflowManagerController {
     public String getArgoWorklfowScript(@PathVariable("id") String id) throws JsonProcessingException {
 		return m_wfManager.getWorkflowScript(id);
     }
+
+    @Tag(name = "워크플로우 모델 관리 API")
+    @Operation(summary = "등록된 모든 워크플로우 모델에 대한 워크플로우 스크립트를 다시 생성한다.")
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공. 스크립트 내용이 변경된 모델의 수를 반환한다.",
+			content = {
+				@Content(schema = @Schema(implementation = Integer.class), mediaType = "application/json")
+			})
+    })
+    @PostMapping("/admin/scripts/regenerate")
+    @ResponseStatus(HttpStatus.OK)
+    public int regenerateWorkflowScriptAll() {
+		return m_wfManager.regenerateWorkflowScriptAll();
+    }
     
 	private static final okhttp3.MediaType JSON_TYPE = okhttp3.MediaType.parse("application/json; charset=utf-8");
 
     @Tag(name = "실행시간 예측 API")
-    @Operation(summary = "AI 또는 Simulation 작업의 실행시간을 예측한다.")
+    @Operation(summary = "AI 또는 Simulation 작업의 실행시간을 예측한다.",
+    			description = "종료된 워크플로우들로부터 수집된 해당 서브모델의 수행 시간 표본이 충분한 경우에는 "
+    						+ "로컬 통계의 평균 수행 시간 (초)을 반환하고, 그렇지 않은 경우에는 외부 예측기에 요청한다.")
     @Parameters({
     	@Parameter(name = "smRef", description="예측 대상 AI 또는 Simulation 서브모델 참조 표현식. ",
     				example = "test:AddAndSleep")
@@ -190,7 +435,10 @@ public class MDTWorkflowManagerController {
     })
     @PostMapping("/execution-times/{smRef}")
     public Double estimateTaskExecutionTime(@PathVariable("smRef") String smRefString) {
-    	System.out.println("estimateTaskExecutionTime: smRef=" + smRefString);
+    	Optional<Double> local = m_wfManager.estimateExecutionTime(smRefString);
+    	if ( local.isPresent() ) {
+    		return local.get();
+    	}
     	
     	HttpMDTManager mdt = HttpMDTManager.connect(m_conf.getMdtUrl());
     	HttpMDTInstanceManager manager = mdt.getInstanceManager();
@@ -208,6 +456,76 @@ public class MDTWorkflowManagerController {
     	return Double.valueOf(respBody);
     }
 
+    @Tag(name = "실행시간 예측 API")
+    @Operation(summary = "워크플로우 모델에 포함된 task들의 수행 시간 통계를 반환한다.",
+    			description = "통계는 종료된 워크플로우들의 성공한 task 수행 시간으로부터 계산되며, "
+    						+ "quantile 값들의 상대 오차는 1% 이내이다. 시간 단위는 millisecond이다.")
+    @Parameters({
+    	@Parameter(name = "model", description = "워크플로우 모델 식별자. 생략시 모든 모델의 task 통계를 반환한다.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json",
+    					array = @ArraySchema(schema=@Schema(implementation = TaskDurationStats.class)))
+    		}
+    	)
+    })
+    @GetMapping("/task-duration-stats")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskDurationStats> getTaskDurationStats(@RequestParam(name="model", required=false) String wfModelId) {
+    	return m_wfManager.getTaskDurationStats(wfModelId);
+    }
+
+    @Tag(name = "실행시간 예측 API")
+    @Operation(summary = "모든 서브모델의 수행 시간 통계를 반환한다.")
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json",
+    					array = @ArraySchema(schema=@Schema(implementation = TaskDurationStats.class)))
+    		}
+    	)
+    })
+    @GetMapping("/submodel-duration-stats")
+    @ResponseStatus(HttpStatus.OK)
+    public List<TaskDurationStats> getSubmodelDurationStatsAll() {
+    	return m_wfManager.getSubmodelDurationStatsAll();
+    }
+
+    @Tag(name = "실행시간 예측 API")
+    @Operation(summary = "주어진 서브모델의 수행 시간 통계를 반환한다.")
+    @Parameters({
+    	@Parameter(name = "smRef", description="서브모델 참조 ('인스턴스 식별자:서브모델 idShort').",
+    				example = "test:AddAndSleep")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+			content = {
+				@Content(schema = @Schema(implementation = TaskDurationStats.class), mediaType = "application/json")
+			}),
+    	@ApiResponse(responseCode = "404", description = "서브모델의 수행 시간 표본이 없는 경우.")
+    })
+    @GetMapping("/submodel-duration-stats/{smRef}")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskDurationStats getSubmodelDurationStats(@PathVariable("smRef") String smRef) {
+    	return m_wfManager.getSubmodelDurationStats(smRef);
+    }
+
+    @Tag(name = "실행시간 예측 API")
+    @Operation(summary = "수행 시간 통계를 모두 삭제하고 저장된 워크플로우 수행 이력으로부터 다시 계산한다.")
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공. 통계 계산에 사용된 워크플로우 수를 반환한다.",
+			content = {
+				@Content(schema = @Schema(implementation = Integer.class), mediaType = "application/json")
+			})
+    })
+    @PostMapping("/admin/duration-stats/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public int rebuildDurationStats() {
+    	return m_wfManager.rebuildDurationStats();
+    }
+
 
     @Tag(name = "워크플로우 인스턴스 관리 API")
     @Operation(summary = "생성된 모든 워크플로우 인스턴스들을 반환한다.")
@@ -256,6 +574,38 @@ public class MDTWorkflowManagerController {
 		return m_wfManager.getWorkflow(wfId);
 	}
 
+    @Tag(name = "워크플로우 인스턴스 관리 API")
+    @Operation(summary = "이력에 저장된 종료 워크플로우 인스턴스들을 최근에 종료된 것부터 반환한다.",
+    			description = "워크플로우 백엔드에 묻지 않고 워크플로우 관리자에 저장된 수행 이력에서 조회한다. "
+    						+ "'from'과 'to'는 종료 시각 범위이며 ISO-8601 형식 (예: 2025-01-01T00:00:00)이다.")
+    @Parameters({
+    	@Parameter(name = "model", description = "워크플로우 모델 식별자. 생략시 모든 모델."),
+    	@Parameter(name = "status", description = "종료 상태 (COMPLETED 또는 FAILED). 생략시 모든 상태."),
+    	@Parameter(name = "from", description = "종료 시각 하한 (포함). 생략시 제한 없음."),
+    	@Parameter(name = "to", description = "종료 시각 상한 (제외). 생략시 제한 없음."),
+    	@Parameter(name = "limit", description = "최대 워크플로우 수. 기본값은 100.")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+    		content = {
+    			@Content(mediaType = "application/json",
+    					array = @ArraySchema(schema=@Schema(implementation = Workflow.class)))
+    		}
+    	),
+    	@ApiResponse(responseCode = "400", description = "인자 값이 유효하지 않은 경우.")
+    })
+	@GetMapping("/workflow-history")
+    @ResponseStatus(HttpStatus.OK)
+	public List<Workflow> getWorkflowHistory(@RequestParam(name="model", required=false) String wfModelId,
+											@RequestParam(name="status", required=false) WorkflowStatus status,
+											@RequestParam(name="from", required=false)
+											@DateTimeFormat(iso=DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+											@RequestParam(name="to", required=false)
+											@DateTimeFormat(iso=DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+											@RequestParam(name="limit", defaultValue="100") int limit) {
+		return m_wfManager.getWorkflowHistory(wfModelId, status, from, to, limit);
+	}
+
     @Tag(name = "워크플로우 인스턴스 관리 API")
     @Operation(summary = "워크플로우 관리자에 등록된 워크플로우 모델을 이용하여 새로운 워크플로우를 시작시킨다.")
     @Parameters({
@@ -294,6 +644,21 @@ public class MDTWorkflowManagerController {
 		m_wfManager.stopWorkflow(wfId);
 	}
 
+    @Tag(name = "워크플로우 인스턴스 관리 API")
+    @Operation(summary = "주어진 모든 워크플로우들을 종료시킨다.")
+    @Parameters({
+    	@Parameter(name = "wfIds", description = "종료시킬 워크플로우 인스턴스 식별자 목록"),
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "204", description = "성공적으로 종료됨"),
+    	@ApiResponse(responseCode = "404", description = "식별자에 해당하는 워크플로우 인스턴스가 없는 경우.")
+    })
+    @PutMapping("/workflows/stop")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+	public void stopWorkflowAll(@RequestBody List<String> wfIds) throws ResourceNotFoundException {
+		m_wfManager.stopWorkflowAll(wfIds);
+	}
+
     @Tag(name = "워크플로우 인스턴스 관리 API")
     @Operation(summary = "식별자에 해당하는 워크플로우 인스턴스를 수행 중지시킨다.")
     @Parameters({
@@ -393,6 +758,38 @@ public class MDTWorkflowManagerController {
 		throws ResourceNotFoundException {
 		return m_wfManager.getWorkflowLog(wfId, podName);
 	}
+
+    @Tag(name = "워크플로우 인스턴스 관리 API")
+    @Operation(summary = "워크플로우 인스턴스에 포함된 task의 로그를 조각 단위로 스트리밍한다.")
+    @Parameters({
+    	@Parameter(name = "wfId", description = "대상 워크플로우 인스턴스 식별자"),
+    	@Parameter(name = "taskId", description = "대상 task 식별자"),
+    	@Parameter(name = "try", description = "대상 시도 번호. 생략된 경우는 가장 최근 시도."),
+    	@Parameter(name = "tail", description = "출력할 마지막 줄 수. 생략된 경우는 전체 로그."),
+    	@Parameter(name = "follow", description = "task가 종료될 때까지 새로 추가되는 로그를 계속 출력할지 여부")
+    })
+    @ApiResponses(value = {
+    	@ApiResponse(responseCode = "200", description = "성공",
+			content = {
+				@Content(schema = @Schema(implementation = String.class), mediaType = "text/plain")
+			}),
+    	@ApiResponse(responseCode = "404", description = "식별자에 해당하는 워크플로우 인스턴스가 없는 경우.")
+    })
+	@GetMapping("/workflows/{wfId}/tasks/{taskId}/log")
+	public ResponseEntity<StreamingResponseBody> streamTaskLog(@PathVariable("wfId") String wfId,
+											@PathVariable("taskId") String taskId,
+											@RequestParam(name="try", required=false) Integer tryNumber,
+											@RequestParam(name="tail", required=false) Integer tail,
+											@RequestParam(name="follow", defaultValue="false") boolean follow) {
+		StreamingResponseBody body = out -> {
+			Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			m_wfManager.streamTaskLog(wfId, taskId, tryNumber, tail, follow, writer);
+			writer.flush();
+		};
+		return ResponseEntity.ok()
+							.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+							.body(body);
+	}
     
     @ExceptionHandler()
     public ResponseEntity<RESTfulErrorEntity> handleException(Exception e) {
@@ -0,0 +1,169 @@
+package mdt.workflow.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * 수행 시간 (millisecond) 분포를 요약하는 병합 가능한 quantile sketch.
+ * <p>
+ * 값들은 로그 scale의 bucket ({@code (γ^(i-1), γ^i]}, {@code γ = (1+α)/(1-α)})별 개수로만 저장되므로
+ * 표본 수와 무관하게 크기가 제한되며, quantile 값의 상대 오차는 {@link #RELATIVE_ACCURACY} 이내이다
+ * (DDSketch 방식). 두 sketch는 bucket별 개수를 더하는 것으로 병합되므로, 워크플로우가 종료될 때마다
+ * 새로운 표본들을 기존 sketch에 점진적으로 반영할 수 있다.
+ * <p>
+ * 이 클래스는 thread-safe하지 않다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public final class DurationSketch {
+	/** quantile 값의 최대 상대 오차. */
+	public static final double RELATIVE_ACCURACY = 0.01;
+	private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+	private static final byte FORMAT_VERSION = 0x01;
+
+	private final TreeMap<Integer,Long> m_buckets = new TreeMap<>();
+	private long m_zeroCount = 0;	// 1ms 미만의 값들
+	private long m_count = 0;
+	private long m_sumMillis = 0;
+
+	/**
+	 * 수행 시간 하나를 추가한다.
+	 *
+	 * @param millis	수행 시간 (millisecond).
+	 */
+	public void add(long millis) {
+		Preconditions.checkArgument(millis >= 0, "negative duration: %s", millis);
+
+		if ( millis < 1 ) {
+			++m_zeroCount;
+		}
+		else {
+			m_buckets.merge(indexOf(millis), 1L, Long::sum);
+		}
+		++m_count;
+		m_sumMillis += millis;
+	}
+
+	/**
+	 * 주어진 sketch의 표본들을 이 sketch에 병합한다.
+	 *
+	 * @param other	병합할 sketch.
+	 */
+	public void merge(DurationSketch other) {
+		Preconditions.checkArgument(other != null, "DurationSketch is null");
+
+		other.m_buckets.forEach((idx, cnt) -> m_buckets.merge(idx, cnt, Long::sum));
+		m_zeroCount += other.m_zeroCount;
+		m_count += other.m_count;
+		m_sumMillis += other.m_sumMillis;
+	}
+
+	public long getCount() {
+		return m_count;
+	}
+
+	/**
+	 * 표본들의 평균 수행 시간을 반환한다. 평균은 근사값이 아닌 정확한 값이다.
+	 *
+	 * @return	평균 수행 시간 (millisecond). 표본이 없는 경우는 0.
+	 */
+	public double getMean() {
+		return (m_count > 0) ? (double)m_sumMillis / m_count : 0;
+	}
+
+	/**
+	 * 주어진 quantile에 해당하는 수행 시간을 반환한다.
+	 *
+	 * @param q	quantile (0 ~ 1).
+	 * @return	수행 시간 (millisecond). 표본이 없는 경우는 0.
+	 */
+	public double getQuantile(double q) {
+		Preconditions.checkArgument(q >= 0 && q <= 1, "invalid quantile: %s", q);
+		if ( m_count == 0 ) {
+			return 0;
+		}
+
+		double rank = q * (m_count - 1);
+		long cumulative = m_zeroCount;
+		if ( rank < cumulative ) {
+			return 0;
+		}
+		for ( Map.Entry<Integer,Long> bucket: m_buckets.entrySet() ) {
+			cumulative += bucket.getValue();
+			if ( rank < cumulative ) {
+				return valueOf(bucket.getKey());
+			}
+		}
+		return valueOf(m_buckets.lastKey());
+	}
+
+	/**
+	 * sketch를 DB 저장용 byte 배열로 직렬화한다.
+	 *
+	 * @return	직렬화된 byte 배열.
+	 */
+	public byte[] toBytes() {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(32 + m_buckets.size() * 12);
+		try ( DataOutputStream out = new DataOutputStream(baos) ) {
+			out.writeByte(FORMAT_VERSION);
+			out.writeLong(m_count);
+			out.writeLong(m_sumMillis);
+			out.writeLong(m_zeroCount);
+			out.writeInt(m_buckets.size());
+			for ( Map.Entry<Integer,Long> bucket: m_buckets.entrySet() ) {
+				out.writeInt(bucket.getKey());
+				out.writeLong(bucket.getValue());
+			}
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException("failed to encode DurationSketch", e);
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * {@link #toBytes()}로 직렬화된 sketch를 읽는다.
+	 *
+	 * @param bytes	직렬화된 byte 배열.
+	 * @return	sketch.
+	 * @throws IOException	형식이 올바르지 않은 경우.
+	 */
+	public static DurationSketch fromBytes(byte[] bytes) throws IOException {
+		Preconditions.checkArgument(bytes != null && bytes.length > 0, "empty DurationSketch bytes");
+
+		try ( DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes)) ) {
+			byte format = in.readByte();
+			if ( format != FORMAT_VERSION ) {
+				throw new IOException(String.format("unknown DurationSketch format: 0x%02x", format));
+			}
+
+			DurationSketch sketch = new DurationSketch();
+			sketch.m_count = in.readLong();
+			sketch.m_sumMillis = in.readLong();
+			sketch.m_zeroCount = in.readLong();
+			int nbuckets = in.readInt();
+			for ( int i = 0; i < nbuckets; ++i ) {
+				sketch.m_buckets.put(in.readInt(), in.readLong());
+			}
+			return sketch;
+		}
+	}
+
+	private static int indexOf(long millis) {
+		return (int)Math.ceil(Math.log(millis) / LOG_GAMMA);
+	}
+
+	private static double valueOf(int index) {
+		// bucket (γ^(i-1), γ^i]의 대표값. bucket 내 모든 값에 대해 상대 오차가 α 이내가 된다.
+		return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+	}
+}
@@ -0,0 +1,87 @@
+package mdt.workflow.domain;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import utils.InternalException;
+
+import mdt.workflow.domain.TaskDurationStats.Kind;
+
+
+/**
+ * task 또는 서브모델별 수행 시간 통계.
+ * <p>
+ * 수행 시간 분포는 {@link DurationSketch}로 직렬화되어 저장되며, 새로운 표본들은 기존 sketch에
+ * 병합된다. 조회에 사용되는 표본 수, 평균, quantile 값들은 갱신시 계산되어 별도의 컬럼으로 저장된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Entity
+@Table(name="task_duration_stats",
+		indexes = { @Index(name="task_duration_stats_kind_idx", columnList="kind, subject") })
+@Getter
+public class JpaTaskDurationStats {
+	@Id @Column(name="stats_id", length=400) private String statsId;
+	@Enumerated(EnumType.STRING)
+	@Column(name="kind", length=16, nullable=false) private Kind kind;
+	@Column(name="subject", length=384, nullable=false) private String subject;
+	@Column(name="sample_count", nullable=false) private long count;
+	@Column(name="mean_millis", nullable=false) private double meanMillis;
+	@Column(name="p50_millis", nullable=false) private double p50Millis;
+	@Column(name="p95_millis", nullable=false) private double p95Millis;
+	@Column(name="p99_millis", nullable=false) private double p99Millis;
+	@Column(name="sketch", columnDefinition = "bytea", nullable=false) private byte[] sketch;
+	@Column(name="updated_at", nullable=false) private Instant updatedAt;
+
+	@SuppressWarnings("unused")
+	private JpaTaskDurationStats() { }
+
+	public JpaTaskDurationStats(Kind kind, String subject) {
+		this.statsId = toStatsId(kind, subject);
+		this.kind = kind;
+		this.subject = subject;
+		update(new DurationSketch());
+	}
+
+	public static String toStatsId(Kind kind, String subject) {
+		return kind.name() + "|" + subject;
+	}
+
+	public DurationSketch getDurationSketch() {
+		try {
+			return DurationSketch.fromBytes(sketch);
+		}
+		catch ( IOException e ) {
+			throw new InternalException(e);
+		}
+	}
+
+	/**
+	 * 주어진 sketch로 통계를 갱신한다.
+	 *
+	 * @param durations	누적된 수행 시간 sketch.
+	 */
+	public void update(DurationSketch durations) {
+		this.count = durations.getCount();
+		this.meanMillis = durations.getMean();
+		this.p50Millis = durations.getQuantile(0.50);
+		this.p95Millis = durations.getQuantile(0.95);
+		this.p99Millis = durations.getQuantile(0.99);
+		this.sketch = durations.toBytes();
+		this.updatedAt = Instant.now();
+	}
+
+	public TaskDurationStats toStats() {
+		return new TaskDurationStats(kind, subject, count, meanMillis, p50Millis, p95Millis, p99Millis, updatedAt);
+	}
+}
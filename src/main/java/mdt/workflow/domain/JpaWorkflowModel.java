@@ -1,7 +1,7 @@
 package mdt.workflow.domain;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -13,11 +13,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import utils.InternalException;
 
-import mdt.model.MDTModelSerDe;
 import mdt.workflow.WorkflowModel;
 
 
@@ -29,36 +29,77 @@ import mdt.workflow.WorkflowModel;
 @Table(name="workflow_models")
 @Getter @Setter
 public class JpaWorkflowModel {
-	@Id @GeneratedValue(strategy = GenerationType.AUTO)
+	// 이전 버전에서 AUTO 전략으로 생성된 sequence 이름을 명시적으로 고정한다.
+	// JpaWorkflowModelRepository의 upsert 구문이 같은 sequence를 사용한다.
+	@Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_models_seq")
+	@SequenceGenerator(name = "workflow_models_seq", sequenceName = "workflow_models_seq", allocationSize = 50)
 	@Column(name="row_id") private Long rowId;
 
 	@Column(name="id", length=64, unique=true) private String id;
+	// 컬럼 이름은 이전 버전과의 호환을 위해 유지한다. 저장 형식은 WorkflowModelCodec을 참고.
 	@Column(columnDefinition = "bytea", nullable = false)
 	private byte[] jsonModelBytes;
 	
+	// 모델 목록 조회시 모델을 파싱하지 않도록 저장시 함께 기록되는 요약 정보 (WorkflowModelSummary).
+	@Column(name="name") private String name;
+	@Column(name="description", columnDefinition = "text") private String description;
+	@Column(name="task_count") private Integer taskCount;
+	@Column(name="updated_at") private Instant updatedAt;
+	// 현재 버전에 대한 포인터. 버전들은 JpaWorkflowModelVersion에 내용 해시를 key로 저장된다.
+	@Column(name="version_hash", length=64) private String versionHash;
+	
 	@SuppressWarnings("unused")
 	private JpaWorkflowModel() { }
 	
 	public JpaWorkflowModel(WorkflowModel wfModel) {
 		this.id = wfModel.getId();
-		this.jsonModelBytes = MDTModelSerDe.toJsonString(wfModel).getBytes(StandardCharsets.UTF_8);
+		this.jsonModelBytes = WorkflowModelCodec.encode(wfModel);
+		this.updatedAt = Instant.now();
+		updateSummary(wfModel);
 	}
 	
 	public JpaWorkflowModel(String wfModelJson) throws JsonProcessingException {
-		WorkflowModel wfDesc = WorkflowModel.parseJsonString(wfModelJson);
-		
-		this.id = wfDesc.getId();
-		this.jsonModelBytes = wfModelJson.getBytes(StandardCharsets.UTF_8);
+		this(WorkflowModel.parseJsonString(wfModelJson));
 	}
 	
 	public WorkflowModel asWorkflowModel() {
 		try {
-			String jsonModel = new String(jsonModelBytes, StandardCharsets.UTF_8);
-			WorkflowModel wfModel =  MDTModelSerDe.readValue(jsonModel, WorkflowModel.class);
-			return  wfModel;
+			return WorkflowModelCodec.decode(jsonModelBytes);
 		}
 		catch ( IOException e ) {
 			throw new InternalException(e);
 		}
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * 저장된 모델이 이전 버전의 형식으로 되어 있는지 여부를 반환한다.
+	 * 
+	 * @return	현재 저장 형식이 아닌 경우 true.
+	 */
+	public boolean isLegacyFormat() {
+		return !WorkflowModelCodec.isCurrentFormat(jsonModelBytes);
+	}
+	
+	/**
+	 * 요약 정보 또는 버전 컬럼이 채워져 있지 않은지 여부를 반환한다.
+	 * 해당 컬럼들이 추가되기 이전에 저장된 모델이 이에 해당한다.
+	 * 
+	 * @return	요약 정보가 없는 경우 true.
+	 */
+	public boolean isSummaryMissing() {
+		return taskCount == null || versionHash == null;
+	}
+	
+	/**
+	 * 주어진 워크플로우 모델로부터 요약 정보 컬럼들과 현재 버전 해시를 갱신한다.
+	 * 변경 시각은 모델이 저장될 때 기록되므로 여기서는 갱신하지 않는다.
+	 * 
+	 * @param wfModel	이 엔티티에 저장된 워크플로우 모델.
+	 */
+	public void updateSummary(WorkflowModel wfModel) {
+		this.name = wfModel.getName();
+		this.description = wfModel.getDescription();
+		this.taskCount = wfModel.getTaskDescriptors().size();
+		this.versionHash = WorkflowModelCodec.contentHash(wfModel);
+	}
+}
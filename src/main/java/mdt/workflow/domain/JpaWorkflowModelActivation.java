@@ -0,0 +1,46 @@
+package mdt.workflow.domain;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+
+/**
+ * 워크플로우 모델의 현재 버전 포인터 ({@link JpaWorkflowModel#getVersionHash()})가 변경된 기록.
+ * <p>
+ * 모델이 추가되거나 다른 내용으로 교체되어 현재 버전이 실제로 바뀔 때마다 하나씩 추가되며,
+ * 변경되지 않는다. 같은 내용으로 되돌아간 경우 (A→B→A)에도 새 기록이 추가되므로,
+ * 모델의 버전 이력은 버전 ({@link JpaWorkflowModelVersion})의 생성 시각이 아닌 이 기록의 순서를 따른다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Entity
+@Immutable
+@Table(name="workflow_model_activations",
+		indexes = { @Index(name="workflow_model_activations_model_id_idx", columnList="model_id, activated_at") })
+@Getter
+public class JpaWorkflowModelActivation {
+	// JpaWorkflowModelManager의 JDBC insert 구문이 같은 sequence를 사용한다.
+	@Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_model_activations_seq")
+	@SequenceGenerator(name = "workflow_model_activations_seq", sequenceName = "workflow_model_activations_seq",
+						allocationSize = 50)
+	@Column(name="row_id") private Long rowId;
+	
+	@Column(name="model_id", length=64, nullable = false) private String modelId;
+	@Column(name="version_hash", length=64, nullable = false) private String versionHash;
+	@Column(name="activated_at", nullable = false) private Instant activatedAt;
+	
+	@SuppressWarnings("unused")
+	private JpaWorkflowModelActivation() { }
+}
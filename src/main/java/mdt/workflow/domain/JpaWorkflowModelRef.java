@@ -0,0 +1,60 @@
+package mdt.workflow.domain;
+
+import java.io.Serializable;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import mdt.workflow.domain.WorkflowModelReference.Kind;
+
+
+/**
+ * 참조 대상 (MDT 인스턴스, 서브모델, SubmodelElement)으로부터 워크플로우 모델로의 역색인 항목.
+ * <p>
+ * 항목들은 모델이 등록될 때 {@link WorkflowModelReference#extract(mdt.workflow.WorkflowModel)}로
+ * 추출되어 저장되며, 모델이 교체되거나 삭제되면 함께 교체, 삭제된다.
+ * 참조 대상으로 모델들을 찾는 질의는 {@code (kind, ref)} 색인 하나로 처리된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Entity
+@Immutable
+@IdClass(JpaWorkflowModelRef.Key.class)
+@Table(name="workflow_model_refs",
+		indexes = {
+			@Index(name="workflow_model_refs_ref_idx", columnList="kind, ref, model_id"),
+			@Index(name="workflow_model_refs_model_id_idx", columnList="model_id")
+		})
+@Getter
+public class JpaWorkflowModelRef {
+	@Id @Enumerated(EnumType.STRING)
+	@Column(name="kind", length=16) private Kind kind;
+	@Id @Column(name="ref", length=512) private String ref;
+	@Id @Column(name="model_id", length=64) private String modelId;
+
+	@SuppressWarnings("unused")
+	private JpaWorkflowModelRef() { }
+
+	@NoArgsConstructor @AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private Kind kind;
+		private String ref;
+		private String modelId;
+	}
+}
@@ -0,0 +1,53 @@
+package mdt.workflow.domain;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import utils.InternalException;
+
+import mdt.workflow.WorkflowModel;
+
+
+/**
+ * 변경되지 않는 워크플로우 모델 버전.
+ * <p>
+ * 각 버전은 모델 내용의 해시 ({@link WorkflowModelCodec#contentHash(WorkflowModel)})를 key로 저장되며,
+ * 한번 저장된 버전은 변경되지 않는다. 모델 식별자별 현재 버전은 {@link JpaWorkflowModel#getVersionHash()}가
+ * 가리킨다. 따라서 버전 해시를 key로 생성된 산출물 (Argo 워크플로우 명세, Airflow DAG 스크립트 등)은
+ * 무효화할 필요 없이 캐쉬될 수 있다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Entity
+@Immutable
+@Table(name="workflow_model_versions",
+		indexes = { @Index(name="workflow_model_versions_model_id_idx", columnList="model_id, created_at") })
+@Getter
+public class JpaWorkflowModelVersion {
+	@Id @Column(name="content_hash", length=64) private String contentHash;
+	@Column(name="model_id", length=64, nullable = false) private String modelId;
+	@Column(name="model_bytes", columnDefinition = "bytea", nullable = false) private byte[] modelBytes;
+	@Column(name="created_at", nullable = false) private Instant createdAt;
+	
+	@SuppressWarnings("unused")
+	private JpaWorkflowModelVersion() { }
+	
+	public WorkflowModel asWorkflowModel() {
+		try {
+			return WorkflowModelCodec.decode(modelBytes);
+		}
+		catch ( IOException e ) {
+			throw new InternalException(e);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package mdt.workflow.domain;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import utils.InternalException;
+
+import mdt.model.MDTModelSerDe;
+import mdt.workflow.Workflow;
+import mdt.workflow.WorkflowStatus;
+
+
+/**
+ * 종료된 워크플로우 인스턴스의 수행 이력.
+ * <p>
+ * 워크플로우 인스턴스 정보 ({@link Workflow}) 전체는 JSON으로 저장되며, 조회 조건으로 사용되는
+ * 모델 식별자, 상태, 시각들은 별도의 컬럼으로 저장된다. task별 수행 시간은 이력 대신
+ * {@link mdt.workflow.service.TaskDurationStatsManager}의 통계로 누적된다.
+ * 종료된 워크플로우는 더 이상 변경되지 않으므로 한번 저장된 이력은 갱신되지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Entity
+@Table(name="workflow_runs",
+		indexes = {
+			@Index(name="workflow_runs_model_id_idx", columnList="model_id, finish_time"),
+			@Index(name="workflow_runs_status_idx", columnList="status, finish_time"),
+			@Index(name="workflow_runs_finish_time_idx", columnList="finish_time")
+		})
+@Getter
+public class JpaWorkflowRun {
+	@Id @Column(name="workflow_id", length=256) private String workflowId;
+	@Column(name="model_id", length=64, nullable=false) private String modelId;
+	@Enumerated(EnumType.STRING)
+	@Column(name="status", length=16, nullable=false) private WorkflowStatus status;
+	@Column(name="creation_time") private LocalDateTime creationTime;
+	@Column(name="start_time") private LocalDateTime startTime;
+	@Column(name="finish_time") private LocalDateTime finishTime;
+	@Column(name="workflow_json", columnDefinition="text", nullable=false) private String workflowJson;
+	
+	@SuppressWarnings("unused")
+	private JpaWorkflowRun() { }
+	
+	public JpaWorkflowRun(Workflow wf) {
+		this.workflowId = wf.getName();
+		this.modelId = wf.getModelId();
+		this.status = wf.getStatus();
+		this.creationTime = wf.getCreationTime();
+		this.startTime = wf.getStartTime();
+		this.finishTime = wf.getFinishTime();
+		try {
+			this.workflowJson = MDTModelSerDe.getJsonMapper().writeValueAsString(wf);
+		}
+		catch ( JsonProcessingException e ) {
+			throw new InternalException(e);
+		}
+	}
+	
+	public Workflow asWorkflow() {
+		try {
+			return MDTModelSerDe.getJsonMapper().readValue(workflowJson, Workflow.class);
+		}
+		catch ( JsonProcessingException e ) {
+			throw new InternalException(e);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package mdt.workflow.domain;
+
+import java.time.Instant;
+
+
+/**
+ * 종료된 워크플로우들로부터 수집된 task 수행 시간 통계.
+ *
+ * @param kind			통계 대상 종류.
+ * @param subject		통계 대상. {@link Kind#TASK}인 경우는 '모델 식별자/task 식별자',
+ * 						{@link Kind#SUBMODEL}인 경우는 '인스턴스 식별자:서브모델 idShort' 형식이다.
+ * @param count			표본 수.
+ * @param meanMillis	평균 수행 시간 (millisecond).
+ * @param p50Millis		수행 시간 중앙값 (millisecond).
+ * @param p95Millis		수행 시간 95 percentile (millisecond).
+ * @param p99Millis		수행 시간 99 percentile (millisecond).
+ * @param updatedAt		통계가 마지막으로 갱신된 시각.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record TaskDurationStats(Kind kind, String subject, long count, double meanMillis,
+								double p50Millis, double p95Millis, double p99Millis, Instant updatedAt) {
+	public enum Kind {
+		/** 워크플로우 모델에 포함된 task별 통계. */
+		TASK,
+		/** task가 호출하는 서브모델별 통계. 여러 모델의 task들이 같은 서브모델을 호출할 수 있다. */
+		SUBMODEL,
+	}
+}
@@ -0,0 +1,155 @@
+package mdt.workflow.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.base.Preconditions;
+
+import mdt.model.MDTModelSerDe;
+import mdt.workflow.WorkflowModel;
+
+
+/**
+ * DB에 저장되는 워크플로우 모델의 직렬화 형식을 처리한다.
+ * <p>
+ * 모델은 Jackson Smile (binary JSON) 형식으로 직렬화된 후 deflate로 압축되며,
+ * 맨 앞에 형식 버전을 나타내는 1 byte가 추가된다. 이전 버전에서 저장된 UTF-8 JSON 형식은
+ * 첫 byte가 JSON 문자이므로 버전 byte와 구분되며, 그대로 읽을 수 있다.
+ * <p>
+ * 직렬화에는 {@link MDTModelSerDe}의 JSON mapper를 Smile parser/generator와 함께 사용하므로,
+ * JSON 형식과 동일한 모델 직렬화 설정이 적용된다. 읽을 때는 byte 배열에서 직접 파싱하며
+ * 중간 문자열을 만들지 않는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public final class WorkflowModelCodec {
+	/** Smile 형식 + deflate 압축. */
+	public static final byte FORMAT_SMILE_DEFLATE = 0x01;
+	public static final byte CURRENT_FORMAT = FORMAT_SMILE_DEFLATE;
+
+	private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+	private static final int COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+	// 내용 해시 계산용 mapper. 같은 내용의 모델이 항상 같은 byte열로 직렬화되도록 속성과 map 항목을 정렬한다.
+	// MDTModelSerDe의 mapper 설정 (모듈 등록 등)을 그대로 유지하도록 그 mapper로부터 builder를 만든다.
+	private static final ObjectMapper CANONICAL_MAPPER = ((JsonMapper)MDTModelSerDe.getJsonMapper()).rebuild()
+												.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+												.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+												.disable(SerializationFeature.INDENT_OUTPUT)
+												.build();
+
+	private WorkflowModelCodec() {
+		throw new AssertionError("Should not be called: class=" + getClass().getName());
+	}
+
+	/**
+	 * 주어진 워크플로우 모델을 현재 저장 형식으로 직렬화한다.
+	 *
+	 * @param wfModel	워크플로우 모델.
+	 * @return	직렬화된 byte 배열.
+	 */
+	public static byte[] encode(WorkflowModel wfModel) {
+		Preconditions.checkArgument(wfModel != null, "WorkflowModel is null");
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+		baos.write(CURRENT_FORMAT);
+
+		Deflater deflater = new Deflater(COMPRESSION_LEVEL);
+		try ( OutputStream out = new DeflaterOutputStream(baos, deflater);
+			JsonGenerator gen = SMILE_FACTORY.createGenerator(out) ) {
+			getMapper().writeValue(gen, wfModel);
+		}
+		catch ( IOException e ) {
+			throw new IllegalStateException("failed to encode WorkflowModel: id=" + wfModel.getId(), e);
+		}
+		finally {
+			deflater.end();
+		}
+
+		return baos.toByteArray();
+	}
+
+	/**
+	 * 저장된 byte 배열로부터 워크플로우 모델을 읽는다.
+	 * <p>
+	 * 현재 형식뿐만 아니라 이전 버전의 UTF-8 JSON 형식도 읽을 수 있다.
+	 *
+	 * @param bytes	저장된 byte 배열.
+	 * @return	워크플로우 모델.
+	 * @throws IOException	모델 파싱에 실패한 경우.
+	 */
+	public static WorkflowModel decode(byte[] bytes) throws IOException {
+		Preconditions.checkArgument(bytes != null && bytes.length > 0, "empty WorkflowModel bytes");
+
+		if ( bytes[0] == FORMAT_SMILE_DEFLATE ) {
+			try ( InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+				JsonParser parser = SMILE_FACTORY.createParser(in) ) {
+				return getMapper().readValue(parser, WorkflowModel.class);
+			}
+		}
+		else if ( isJson(bytes[0]) ) {
+			return getMapper().readValue(bytes, WorkflowModel.class);
+		}
+		else {
+			throw new IOException(String.format("unknown WorkflowModel storage format: 0x%02x", bytes[0]));
+		}
+	}
+
+	/**
+	 * 주어진 워크플로우 모델의 내용 해시를 계산한다.
+	 * <p>
+	 * 해시는 모델을 정규화된 JSON으로 직렬화한 결과의 SHA-256 값 (16진수 64자)이며,
+	 * 저장 형식과 무관하게 모델의 내용이 같으면 같은 값을 갖는다. 모델 식별자도 내용에 포함되므로
+	 * 서로 다른 모델이 같은 해시를 갖지 않는다.
+	 *
+	 * @param wfModel	워크플로우 모델.
+	 * @return	내용 해시.
+	 */
+	public static String contentHash(WorkflowModel wfModel) {
+		Preconditions.checkArgument(wfModel != null, "WorkflowModel is null");
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(CANONICAL_MAPPER.writeValueAsBytes(wfModel)));
+		}
+		catch ( IOException | NoSuchAlgorithmException e ) {
+			throw new IllegalStateException("failed to compute WorkflowModel hash: id=" + wfModel.getId(), e);
+		}
+	}
+
+	/**
+	 * 주어진 byte 배열이 현재 저장 형식인지 여부를 반환한다.
+	 * 현재 형식이 아닌 모델은 읽힐 때 현재 형식으로 변환되어 다시 저장된다.
+	 *
+	 * @param bytes	저장된 byte 배열.
+	 * @return	현재 형식인 경우 true.
+	 */
+	public static boolean isCurrentFormat(byte[] bytes) {
+		return bytes != null && bytes.length > 0 && bytes[0] == CURRENT_FORMAT;
+	}
+
+	private static boolean isJson(byte first) {
+		// JSON 문서는 '{' 또는 공백 문자(UTF-8 BOM 포함)로 시작한다.
+		return first == '{' || first == ' ' || first == '\t' || first == '\r' || first == '\n'
+			|| first == (byte)0xEF;
+	}
+
+	private static ObjectMapper getMapper() {
+		return MDTModelSerDe.getJsonMapper();
+	}
+}
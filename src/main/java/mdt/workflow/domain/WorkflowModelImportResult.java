@@ -0,0 +1,36 @@
+package mdt.workflow.domain;
+
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * 일괄 등록된 워크플로우 모델 하나의 등록 결과.
+ *
+ * @param id		워크플로우 모델 식별자.
+ * @param status	등록 결과.
+ * @param message	등록에 실패한 경우의 오류 메시지.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record WorkflowModelImportResult(String id, Status status, @Nullable String message) {
+	public static enum Status {
+		/** 모델이 추가 또는 교체되었다. */
+		IMPORTED,
+		/** 같은 식별자의 모델이 이미 존재하여 무시되었다. */
+		SKIPPED,
+		/** 모델 저장 후 워크플로우 백엔드 등록에 실패하여 모델이 제거되었다. */
+		FAILED,
+	}
+
+	public static WorkflowModelImportResult imported(String id) {
+		return new WorkflowModelImportResult(id, Status.IMPORTED, null);
+	}
+
+	public static WorkflowModelImportResult skipped(String id) {
+		return new WorkflowModelImportResult(id, Status.SKIPPED, null);
+	}
+
+	public static WorkflowModelImportResult failed(String id, Throwable cause) {
+		return new WorkflowModelImportResult(id, Status.FAILED, "" + cause);
+	}
+}
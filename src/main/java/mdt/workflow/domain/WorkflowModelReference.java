@@ -0,0 +1,127 @@
+package mdt.workflow.domain;
+
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.Sets;
+
+import mdt.workflow.WorkflowModel;
+import mdt.workflow.model.ArgumentSpec;
+import mdt.workflow.model.ArgumentSpec.ReferenceArgumentSpec;
+import mdt.workflow.model.Option;
+import mdt.workflow.model.TaskDescriptor;
+
+
+/**
+ * 워크플로우 모델이 참조하는 MDT 인스턴스, 서브모델 또는 SubmodelElement.
+ * <p>
+ * 참조들은 모델 등록시 {@link #extract(WorkflowModel)}로 추출되어 모델 식별자와 함께 색인되며,
+ * 특정 인스턴스나 서브모델을 사용하는 모델들을 모델을 읽지 않고 찾는데 사용된다.
+ *
+ * @param kind	참조 종류.
+ * @param ref	참조 대상. {@link Kind#INSTANCE}인 경우는 인스턴스 식별자, {@link Kind#SUBMODEL}인 경우는
+ * 				'인스턴스 식별자:서브모델 idShort' 또는 서브모델 idShort, {@link Kind#ELEMENT}인 경우는
+ * 				SubmodelElement 참조 표현식이다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record WorkflowModelReference(Kind kind, String ref) {
+	public enum Kind {
+		INSTANCE,
+		SUBMODEL,
+		ELEMENT,
+	}
+
+	private static final String OPTION_OPERATION = "operation";
+	// 인스턴스 식별자 앞에 붙는 참조 표현식 접두어들.
+	private static final String PREFIX_PARAMETER = "param";
+	private static final String PREFIX_OPERATION_ARGUMENT = "oparg";
+
+	/**
+	 * 주어진 워크플로우 모델의 task들이 참조하는 대상들을 추출한다.
+	 * <p>
+	 * 참조는 task의 서브모델 참조, 'operation' 옵션, 그리고 입출력 인자 중 SubmodelElement 참조 인자들로부터
+	 * 추출된다. SubmodelElement 참조는 표현식 자체와 함께 표현식에 포함된 인스턴스와 서브모델도 추출되며,
+	 * 서브모델은 인스턴스 식별자를 포함한 형식과 서브모델 idShort만의 형식으로 모두 추출된다.
+	 *
+	 * @param wfModel	워크플로우 모델.
+	 * @return	참조 집합.
+	 */
+	public static Set<WorkflowModelReference> extract(WorkflowModel wfModel) {
+		Set<WorkflowModelReference> refs = Sets.newLinkedHashSet();
+		for ( TaskDescriptor task: wfModel.getTaskDescriptors() ) {
+			if ( task.getSubmodelRef() != null ) {
+				addSubmodelReference(refs, task.getSubmodelRef().toStringExpr());
+			}
+
+			Option opOpt = task.getOptions().get(OPTION_OPERATION);
+			if ( opOpt != null ) {
+				addSubmodelReference(refs, opOpt.getValue());
+			}
+
+			for ( ArgumentSpec arg: task.getInputArgumentSpecs().values() ) {
+				addArgumentReference(refs, arg);
+			}
+			for ( ArgumentSpec arg: task.getOutputArgumentSpecs().values() ) {
+				addArgumentReference(refs, arg);
+			}
+		}
+		return refs;
+	}
+
+	private static void addArgumentReference(Set<WorkflowModelReference> refs, ArgumentSpec arg) {
+		if ( arg instanceof ReferenceArgumentSpec refArg ) {
+			addElementReference(refs, refArg.getElementReference().toStringExpr());
+		}
+	}
+
+	private static void addElementReference(Set<WorkflowModelReference> refs, @Nullable String expr) {
+		if ( expr == null || expr.isBlank() ) {
+			return;
+		}
+		expr = expr.trim();
+		refs.add(new WorkflowModelReference(Kind.ELEMENT, expr));
+
+		// 'param:<instance>:<parameter>' 형식은 서브모델을 포함하지 않는다.
+		String[] parts = expr.split(":");
+		if ( parts.length >= 2 && PREFIX_PARAMETER.equals(parts[0]) ) {
+			addInstance(refs, parts[1]);
+		}
+		else if ( parts.length >= 3 && PREFIX_OPERATION_ARGUMENT.equals(parts[0]) ) {
+			addSubmodel(refs, parts[1], parts[2]);
+		}
+		else if ( parts.length >= 2 ) {
+			addSubmodel(refs, parts[0], parts[1]);
+		}
+	}
+
+	private static void addSubmodelReference(Set<WorkflowModelReference> refs, @Nullable String expr) {
+		if ( expr == null || expr.isBlank() ) {
+			return;
+		}
+
+		String[] parts = expr.trim().split(":");
+		if ( parts.length >= 2 ) {
+			addSubmodel(refs, parts[0], parts[1]);
+		}
+	}
+
+	private static void addSubmodel(Set<WorkflowModelReference> refs, String instanceId, String submodelIdShort) {
+		instanceId = instanceId.trim();
+		submodelIdShort = submodelIdShort.trim();
+		if ( instanceId.isEmpty() || submodelIdShort.isEmpty() ) {
+			return;
+		}
+
+		addInstance(refs, instanceId);
+		refs.add(new WorkflowModelReference(Kind.SUBMODEL, instanceId + ":" + submodelIdShort));
+		refs.add(new WorkflowModelReference(Kind.SUBMODEL, submodelIdShort));
+	}
+
+	private static void addInstance(Set<WorkflowModelReference> refs, String instanceId) {
+		if ( !instanceId.isBlank() ) {
+			refs.add(new WorkflowModelReference(Kind.INSTANCE, instanceId.trim()));
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package mdt.workflow.domain;
+
+import java.time.Instant;
+
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * 워크플로우 모델의 요약 정보.
+ * <p>
+ * 모델 저장시 {@link JpaWorkflowModel}의 별도 컬럼들에 함께 기록되므로, 모델 목록 조회시
+ * 저장된 모델을 읽어 파싱하지 않고 얻을 수 있다.
+ *
+ * @param id			워크플로우 모델 식별자.
+ * @param name			워크플로우 모델 이름.
+ * @param description	워크플로우 모델 설명.
+ * @param taskCount		모델에 포함된 task의 수.
+ * @param updatedAt		모델이 마지막으로 등록 또는 변경된 시각.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record WorkflowModelSummary(String id, @Nullable String name, @Nullable String description,
+									int taskCount, @Nullable Instant updatedAt) { }
@@ -0,0 +1,15 @@
+package mdt.workflow.domain;
+
+import java.time.Instant;
+
+
+/**
+ * 워크플로우 모델 버전 정보.
+ *
+ * @param contentHash	버전의 내용 해시.
+ * @param modelId		워크플로우 모델 식별자.
+ * @param activatedAt	버전이 모델의 현재 버전이 된 시각.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public record WorkflowModelVersionInfo(String contentHash, String modelId, Instant activatedAt) { }
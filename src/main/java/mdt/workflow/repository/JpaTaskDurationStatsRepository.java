@@ -0,0 +1,42 @@
+package mdt.workflow.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+
+import mdt.workflow.domain.JpaTaskDurationStats;
+import mdt.workflow.domain.TaskDurationStats.Kind;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public interface JpaTaskDurationStatsRepository extends JpaRepository<JpaTaskDurationStats, String> {
+	public List<JpaTaskDurationStats> findByKindOrderBySubject(Kind kind);
+	
+	/**
+	 * 주어진 종류의 통계들 중에서 대상이 주어진 prefix로 시작하는 것들을 조회한다.
+	 * 
+	 * @param kind		통계 종류.
+	 * @param prefix	대상 prefix.
+	 * @return	통계 목록.
+	 */
+	public List<JpaTaskDurationStats> findByKindAndSubjectStartingWithOrderBySubject(Kind kind, String prefix);
+	
+	/**
+	 * 주어진 식별자들의 통계를 갱신을 위해 잠그고 ({@code SELECT ... FOR UPDATE}) 조회한다.
+	 * 잠금 순서가 같도록 식별자 순서로 조회하며, 트랜잭션 안에서 호출되어야 한다.
+	 * 
+	 * @param statsIds	통계 식별자 목록.
+	 * @return	통계 목록.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM JpaTaskDurationStats s WHERE s.statsId IN :statsIds ORDER BY s.statsId")
+	public List<JpaTaskDurationStats> findAllByIdForUpdate(@Param("statsIds") Collection<String> statsIds);
+}
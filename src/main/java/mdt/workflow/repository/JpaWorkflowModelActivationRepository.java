@@ -0,0 +1,28 @@
+package mdt.workflow.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import mdt.workflow.domain.JpaWorkflowModelActivation;
+import mdt.workflow.domain.WorkflowModelVersionInfo;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public interface JpaWorkflowModelActivationRepository extends JpaRepository<JpaWorkflowModelActivation, Long> {
+	/**
+	 * 주어진 워크플로우 모델의 현재 버전 변경 기록을 최근 기록부터 조회한다.
+	 * 저장된 모델 자체는 읽지 않는다.
+	 * 
+	 * @param modelId 워크플로우 모델의 ID
+	 * @return 버전 정보 목록
+	 */
+	@Query("SELECT new mdt.workflow.domain.WorkflowModelVersionInfo(a.versionHash, a.modelId, a.activatedAt) "
+			+ "FROM JpaWorkflowModelActivation a WHERE a.modelId = :modelId "
+			+ "ORDER BY a.activatedAt DESC, a.rowId DESC")
+	public List<WorkflowModelVersionInfo> findVersionInfoAll(@Param("modelId") String modelId);
+}
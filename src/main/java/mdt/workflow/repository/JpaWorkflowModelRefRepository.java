@@ -0,0 +1,26 @@
+package mdt.workflow.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import mdt.workflow.domain.JpaWorkflowModelRef;
+import mdt.workflow.domain.WorkflowModelReference.Kind;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public interface JpaWorkflowModelRefRepository extends JpaRepository<JpaWorkflowModelRef, JpaWorkflowModelRef.Key> {
+	/**
+	 * 주어진 대상을 참조하는 워크플로우 모델들의 식별자를 조회한다.
+	 * 
+	 * @param kind	참조 종류.
+	 * @param ref	참조 대상.
+	 * @return 워크플로우 모델 식별자 목록 (식별자 순서).
+	 */
+	@Query("SELECT r.modelId FROM JpaWorkflowModelRef r WHERE r.kind = :kind AND r.ref = :ref ORDER BY r.modelId")
+	public List<String> findModelIds(@Param("kind") Kind kind, @Param("ref") String ref);
+}
@@ -1,14 +1,18 @@
 package mdt.workflow.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import mdt.workflow.domain.JpaWorkflowModel;
+import mdt.workflow.domain.WorkflowModelSummary;
 
 import jakarta.transaction.Transactional;
 
@@ -34,6 +38,46 @@ public interface JpaWorkflowModelRepository extends JpaRepository<JpaWorkflowMod
 	@Query("SELECT w.id FROM JpaWorkflowModel w")
 	public Set<String> findModelIdAll();
 	
+	/**
+	 * 워크플로우 모델의 현재 버전 해시를 조회한다.
+	 * 
+	 * @param modelId 워크플로우 모델의 ID
+	 * @return 현재 버전 해시
+	 */
+	@Query("SELECT w.versionHash FROM JpaWorkflowModel w WHERE w.id = :modelId")
+	public Optional<String> findVersionHashByModelId(@Param("modelId") String modelId);
+	
+	/**
+	 * 주어진 ID 다음의 워크플로우 모델들을 ID 순서로 최대 {@code limit}개 조회한다.
+	 * <p>
+	 * OFFSET 없이 'id' 컬럼의 unique 인덱스를 이용하는 keyset pagination 방식이므로,
+	 * 조회 비용은 앞쪽 페이지 수와 무관하다.
+	 * 
+	 * @param after 이전 페이지의 마지막 모델 ID. 첫 페이지를 조회하는 경우에는 빈 문자열.
+	 * @param limit 최대 조회 개수
+	 * @return 워크플로우 모델 목록
+	 */
+	@Query("SELECT w FROM JpaWorkflowModel w WHERE w.id > :after ORDER BY w.id")
+	public List<JpaWorkflowModel> findPageAfter(@Param("after") String after, Limit limit);
+	
+	/**
+	 * 모든 워크플로우 모델의 요약 정보를 식별자 순서로 조회한다.
+	 * 저장된 모델 자체는 읽지 않는다.
+	 * 
+	 * @return 워크플로우 모델 요약 정보 목록
+	 */
+	@Query("SELECT new mdt.workflow.domain.WorkflowModelSummary(w.id, w.name, w.description, "
+			+ "COALESCE(w.taskCount, 0), w.updatedAt) FROM JpaWorkflowModel w ORDER BY w.id")
+	public List<WorkflowModelSummary> findSummaryAll();
+	
+	/**
+	 * 요약 정보 또는 버전 컬럼이 채워지지 않은 워크플로우 모델의 ID 목록을 조회한다.
+	 * 
+	 * @return 워크플로우 모델의 ID 목록
+	 */
+	@Query("SELECT w.id FROM JpaWorkflowModel w WHERE w.taskCount IS NULL OR w.versionHash IS NULL")
+	public List<String> findModelIdAllWithoutSummary();
+	
 	@Query("SELECT CASE WHEN COUNT(w) > 0 THEN true ELSE false END FROM JpaWorkflowModel w WHERE w.id = :modelId")
 	public boolean existsByModelId(@Param("modelId") String modelId);
 
@@ -41,4 +85,40 @@ public interface JpaWorkflowModelRepository extends JpaRepository<JpaWorkflowMod
 	@Transactional
 	@Query("DELETE FROM JpaWorkflowModel w WHERE w.id = :modelId")
 	public void deleteByModelId(@Param("modelId") String modelId);
+
+	/**
+	 * 워크플로우 모델을 하나의 SQL 문장으로 추가하거나, 같은 ID의 모델이 이미 있으면 교체한다.
+	 * <p>
+	 * 이미 있는 모델과 내용 (버전 해시)이 같은 경우에는 교체하지 않는다.
+	 * 교체되는 경우에도 행의 'row_id'는 변경되지 않는다. 'row_id'는 JPA가 사용하는 sequence에서
+	 * 할당되며, 교체되는 경우에는 할당된 값이 사용되지 않고 버려진다.
+	 * 
+	 * @param model 추가 또는 교체할 워크플로우 모델
+	 * @return 추가 또는 교체된 경우는 true, 같은 내용의 모델이 이미 있어 변경되지 않은 경우는 false.
+	 */
+	public default boolean upsert(JpaWorkflowModel model) {
+		return upsert(model.getId(), model.getJsonModelBytes(), model.getName(), model.getDescription(),
+						model.getTaskCount(), model.getUpdatedAt(), model.getVersionHash()) > 0;
+	}
+	
+	@Modifying
+	@Transactional
+	@Query(nativeQuery = true, value = """
+			INSERT INTO workflow_models
+					(row_id, id, json_model_bytes, name, description, task_count, updated_at, version_hash)
+			VALUES (nextval('workflow_models_seq'), :modelId, :modelBytes, :name, :description,
+					:taskCount, :updatedAt, :versionHash)
+			ON CONFLICT (id) DO UPDATE SET
+				json_model_bytes = EXCLUDED.json_model_bytes,
+				name = EXCLUDED.name,
+				description = EXCLUDED.description,
+				task_count = EXCLUDED.task_count,
+				updated_at = EXCLUDED.updated_at,
+				version_hash = EXCLUDED.version_hash
+			WHERE workflow_models.version_hash IS DISTINCT FROM EXCLUDED.version_hash
+			""")
+	public int upsert(@Param("modelId") String modelId, @Param("modelBytes") byte[] modelBytes,
+						@Param("name") String name, @Param("description") String description,
+						@Param("taskCount") Integer taskCount, @Param("updatedAt") Instant updatedAt,
+						@Param("versionHash") String versionHash);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package mdt.workflow.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import mdt.workflow.domain.JpaWorkflowModelVersion;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public interface JpaWorkflowModelVersionRepository extends JpaRepository<JpaWorkflowModelVersion, String> {
+}
@@ -0,0 +1,27 @@
+package mdt.workflow.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import mdt.workflow.domain.JpaWorkflowRun;
+
+/**
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public interface JpaWorkflowRunRepository extends JpaRepository<JpaWorkflowRun, String>,
+													JpaSpecificationExecutor<JpaWorkflowRun> {
+	/**
+	 * 주어진 워크플로우 식별자들 중에서 이미 이력이 저장된 것들을 조회한다.
+	 * 
+	 * @param workflowIds 워크플로우 식별자 목록
+	 * @return 이력이 저장된 워크플로우 식별자 목록
+	 */
+	@Query("SELECT r.workflowId FROM JpaWorkflowRun r WHERE r.workflowId IN :workflowIds")
+	public List<String> findRecordedIds(@Param("workflowIds") Collection<String> workflowIds);
+}
@@ -1,32 +1,47 @@
 package mdt.workflow.service;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
 
 import utils.LocalDateTimes;
 import utils.StrSubstitutor;
@@ -37,7 +52,6 @@ import utils.http.OkHttpClientUtils;
 import utils.http.RESTfulErrorEntity;
 import utils.http.RESTfulIOException;
 import utils.http.RESTfulRemoteException;
-import utils.io.IOUtils;
 import utils.stream.FStream;
 
 import mdt.model.MDTModelSerDe;
@@ -48,7 +62,11 @@ import mdt.workflow.Workflow;
 import mdt.workflow.WorkflowInstanceManagerProvider;
 import mdt.workflow.WorkflowModel;
 import mdt.workflow.WorkflowStatus;
+import mdt.workflow.airflow.AirflowDagFilePublisher;
 import mdt.workflow.airflow.AirflowDagGenerator;
+import mdt.workflow.airflow.AirflowJwtTokenProvider;
+import mdt.workflow.airflow.AirflowPageIterator;
+import mdt.workflow.airflow.AirflowTaskLogStreamer;
 import mdt.workflow.airflow.AirflowWorkflowId;
 import mdt.workflow.airflow.DagSpec;
 import mdt.workflow.config.AirflowWorkflowManagerConfiguration;
@@ -59,9 +77,13 @@ import mdt.workflow.config.AirflowWorkflowManagerConfiguration;
  * @author Kang-Woo Lee (ETRI)
  */
 @Service
-public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider, InitializingBean {
+public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider, InitializingBean,
+												DisposableBean {
 	private static final Logger s_logger = LoggerFactory.getLogger(AirflowWorkflowManager.class);
 	private static final String VARIABLE_MDT_URL = "mdt_manager_url";
+	private static final Set<String> TERMINAL_DAG_RUN_STATES = Set.of("success", "failed");
+	private static final Set<String> TERMINAL_TASK_STATES = Set.of("success", "failed", "skipped",
+																	"upstream_failed", "removed");
 	private static final String ADD_VARIABLE_BODY = """			
 {
   "key": "${VARIABLE_MDT_URL}",
@@ -71,13 +93,22 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	
 	private final JpaWorkflowModelManager m_wfModelManager;
 	private final AirflowWorkflowManagerConfiguration m_conf;
-	private HttpRESTfulClient m_restfulClient = null;
-	private String m_jwtToken = null;
+	private final Object m_initLock = new Object();
+	private volatile HttpRESTfulClient m_restfulClient = null;
+	private volatile AirflowJwtTokenProvider m_tokenProvider = null;
+	private FanOutExecutor m_fanOut;
+	private ResponseCache<JsonNode> m_responseCache;
+	private ResponseCache<String> m_scriptCache;
+	private final ObjectProvider<MeterRegistry> m_meterRegistry;
+	private volatile OkHttpClient m_httpClient = null;
+	private AirflowDagFilePublisher m_dagPublisher;
 	private String m_airflowUrl = null;
 	
-	public AirflowWorkflowManager(JpaWorkflowModelManager wfModelManager, AirflowWorkflowManagerConfiguration conf) {
+	public AirflowWorkflowManager(JpaWorkflowModelManager wfModelManager, AirflowWorkflowManagerConfiguration conf,
+									ObjectProvider<MeterRegistry> meterRegistry) {
 		m_wfModelManager = wfModelManager;
 		m_conf = conf;
+		m_meterRegistry = meterRegistry;
 	}
 
 	@Override
@@ -88,6 +119,14 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 											+ m_conf.getDagsFolder().getAbsolutePath());
 
 		m_airflowUrl = m_conf.getAirflowBaseUrl() + "/api/v2";
+		m_dagPublisher = new AirflowDagFilePublisher(m_conf.getDagsFolder());
+		m_fanOut = new FanOutExecutor(m_conf.getMaxConcurrentRequests());
+		m_responseCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+		m_scriptCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+		m_meterRegistry.ifAvailable(registry -> {
+			m_responseCache.bindTo(registry, "airflow");
+			m_scriptCache.bindTo(registry, "airflow-script");
+		});
 		try {
 			getRestfulClient();
 		}
@@ -97,25 +136,53 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 		}
 	}
 
+	@Override
+	public void destroy() throws Exception {
+		closeQuietly(m_tokenProvider);
+		if ( m_fanOut != null ) {
+			m_fanOut.close();
+		}
+	}
+
 	@Override
 	public List<String> listWorkflowIds() {
-		String url = String.format("%s/dags", m_airflowUrl);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		
-		return FStream.from(result.get("dags").elements())
-		        		.filter(dagNode -> existsTag(dagNode, "mdt"))
-						.map(dagNode -> dagNode.get("dag_id").asText())
-						.flatMap(dagId -> FStream.from(listDagRunIds(dagId))
-												.map(runId -> new AirflowWorkflowId(dagId, runId).toStringExpr()))
+		return listDagRunNodes(listMdtDagIds())
+						.map(runNode -> toAirflowWorkflowId(runNode).toStringExpr())
 						.toList();
 	}
 
+	@Override
+	public Map<String,LocalDateTime> listFinishedWorkflows(@Nullable LocalDateTime finishedSince) {
+		List<String> dagIds = listMdtDagIds();
+		if ( dagIds.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		
+		// 종료 상태와 종료 시각 조건은 Airflow에서 적용되므로 새로 종료된 DagRun들만 전달된다.
+		ObjectNode body = MDTModelSerDe.getJsonMapper().createObjectNode();
+		addStringArray(body, "dag_ids", dagIds);
+		addStringArray(body, "states", List.copyOf(TERMINAL_DAG_RUN_STATES));
+		if ( finishedSince != null ) {
+			Instant since = finishedSince.atZone(ZoneId.systemDefault()).toInstant();
+			body.put("end_date_gte", since.toString());
+		}
+		
+		String url = String.format("%s/dags/~/dagRuns/list", m_airflowUrl);
+		Map<String,LocalDateTime> finisheds = Maps.newLinkedHashMap();
+		pagedPost(url, body, "dag_runs")
+			.filter(runNode -> runNode.hasNonNull("end_date"))
+			.forEach(runNode -> {
+				Instant endDate = Instant.parse(runNode.get("end_date").asText());
+				finisheds.put(toAirflowWorkflowId(runNode).toStringExpr(), LocalDateTimes.fromInstant(endDate));
+			});
+		return finisheds;
+	}
+
 	@Override
 	public WorkflowStatus getWorkflowStatus(String wfIdStr) throws ResourceNotFoundException {
 		AirflowWorkflowId wfId = AirflowWorkflowId.parse(wfIdStr);
 
-		String url = wfId.toUrl(m_airflowUrl);
-		JsonNode dagRun = getRestfulClient().get(url, m_jsonNodeDeser);
+		JsonNode dagRun = getDagRunNode(wfId);
 		
 		return switch ( dagRun.get("state").asText() ) {
 	        case "success" -> WorkflowStatus.COMPLETED;
@@ -129,15 +196,42 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	
 	@Override
 	public List<Workflow> getWorkflowAll() {
-		// 먼저 Airflow에 등록된 DAG 목록을 조회한 후,
-		// 각 DAG에 대응되는 MDT Workflow 인스턴스 정보를 구성한다.
-
-		String url = String.format("%s/dags", m_airflowUrl);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		return FStream.from(result.get("dags").elements())
-				        .filter(dagNode -> existsTag(dagNode, "mdt"))
-						.map(dagNode -> dagNode.get("dag_id").asText())
-						.flatMap(dagId -> listDagRuns(dagId))
+		// 먼저 Airflow에 등록된 MDT DAG 목록을 조회한 후, 이들 DAG들의 모든 DagRun과
+		// TaskInstance들을 batch API를 통해 한번에 읽어 메모리 상에서 join하여
+		// MDT Workflow 인스턴스 정보를 구성한다.
+		// DagRun 목록과 TaskInstance 목록은 서로 독립적이므로 동시에 읽어온다.
+		List<String> dagIds = listMdtDagIds();
+		Future<List<JsonNode>> dagRunsFuture = m_fanOut.submit(() -> listDagRunNodes(dagIds).toList());
+		Future<List<JsonNode>> taskInstsFuture
+								= m_fanOut.submit(() -> listTaskInstanceNodes(dagIds, null, null).toList());
+		List<JsonNode> dagRuns = FanOutExecutor.await(dagRunsFuture);
+		List<JsonNode> taskInsts = FanOutExecutor.await(taskInstsFuture);
+		if ( dagRuns.isEmpty() ) {
+			return Collections.emptyList();
+		}
+		
+		Map<String,List<JsonNode>> taskInstGroups = Maps.newHashMap();
+		FStream.from(taskInsts)
+			.forEach(tiNode -> {
+				String wfId = new AirflowWorkflowId(tiNode.get("dag_id").asText(),
+													tiNode.get("dag_run_id").asText()).toStringExpr();
+				taskInstGroups.computeIfAbsent(wfId, k -> Lists.newArrayList()).add(tiNode);
+			});
+		
+		return FStream.from(dagRuns)
+						.mapOrIgnore(runNode -> {
+							try {
+								AirflowWorkflowId wfId = toAirflowWorkflowId(runNode);
+								List<JsonNode> taskInsts = taskInstGroups.getOrDefault(wfId.toStringExpr(),
+																						Collections.emptyList());
+								return toWorkflow(runNode, FStream.from(taskInsts));
+							}
+							catch ( Exception e ) {
+								String dagRunId = runNode.get("dag_run_id").asText();
+								s_logger.error("ignore the dagRun causing error: dagRun={}, cause={}", dagRunId,  ""+e);
+								throw e;
+							}
+						})
 						.toList();
 	}
 	private boolean existsTag(JsonNode dagNode, String tag) {
@@ -154,33 +248,35 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	public Workflow getWorkflow(String wfIdStr) {
 		AirflowWorkflowId wfId = AirflowWorkflowId.parse(wfIdStr);
 		
-		JsonNode dags = getRestfulClient().get(wfId.toUrl(m_airflowUrl), m_jsonNodeDeser);
-		return getWorkflowFromDagRun(wfId.getDagId(), dags);
+		return getWorkflowFromDagRun(getDagRunNode(wfId));
 	}
 
 	@Override
 	public void removeWorkflow(String wfIdStr) {
 		AirflowWorkflowId wfId = AirflowWorkflowId.parse(wfIdStr);
 		getRestfulClient().delete(wfId.toUrl(m_airflowUrl));
+		invalidateCachedDagRun(wfId);
 	}
 
 	@Override
 	public void removeWorkflowAll() {
-		String url = String.format("%s/dags", m_airflowUrl);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		FStream.from(result.get("dags").elements())
-						.map(dagNode -> dagNode.get("dag_id").asText())
-						.flatMap(dagId -> FStream.from(listDagRunIds(dagId))
-													.map(runId -> new AirflowWorkflowId(dagId, runId)))
-						.forEach(wfId -> {
-							try {
-								removeWorkflow(wfId.toStringExpr());
-							}
-							catch ( Exception e ) {
-								s_logger.error("failed to remove the workflow: id={}, cause={}",
-												wfId, "" + e);
-							}
-						});
+		List<String> dagIds = listDagNodes()
+									.map(dagNode -> dagNode.get("dag_id").asText())
+									.toList();
+		
+		// 삭제 도중에 페이지의 offset이 밀리지 않도록 삭제 대상 목록을 먼저 모두 읽어둔다.
+		List<AirflowWorkflowId> wfIds = listDagRunNodes(dagIds)
+											.map(this::toAirflowWorkflowId)
+											.toList();
+		m_fanOut.map(wfIds, wfId -> {
+			try {
+				removeWorkflow(wfId.toStringExpr());
+			}
+			catch ( Exception e ) {
+				s_logger.error("failed to remove the workflow: id={}, cause={}", wfId, "" + e);
+			}
+			return wfId;
+		});
 	}
 	
 	private void enableDag(String dagId) {
@@ -198,15 +294,18 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	public Workflow startWorkflow(@NotNull String modelId) throws ResourceNotFoundException {
 		String url = String.format("%s/dags/%s/dagRuns", m_airflowUrl, modelId);
 
+		// DagRun 설정에 현재 모델 버전을 기록하여, 수행된 DagRun이 어떤 버전의 모델로부터
+		// 생성된 DAG였는지 알 수 있도록 한다.
+		String version = m_wfModelManager.getCurrentVersion(modelId);
 		enableDag(modelId);
 		
 		try {
-			StartWorkflowRequest startReq = new StartWorkflowRequest(modelId);
+			StartWorkflowRequest startReq = new StartWorkflowRequest(modelId, version);
 			String reqBodyStr = MDTModelSerDe.MAPPER.writeValueAsString(startReq);
 			RequestBody reqBody = RequestBody.create(reqBodyStr, HttpRESTfulClient.MEDIA_TYPE_JSON);
 			
-			JsonNode dags = getRestfulClient().post(url, reqBody, m_jsonNodeDeser);
-			return getWorkflowFromDagRun(modelId, dags);
+			JsonNode dagRun = getRestfulClient().post(url, reqBody, m_jsonNodeDeser);
+			return getWorkflowFromDagRun(dagRun);
 		}
 		catch ( JsonProcessingException e ) {
 			throw new RuntimeException("failed to serialize start workflow request", e);
@@ -216,17 +315,21 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	@Override
 	public void stopWorkflow(String wfIdStr) throws ResourceNotFoundException {
 		AirflowWorkflowId wfId = AirflowWorkflowId.parse(wfIdStr);
+		
 		// DagRun의 상태를 'failed'로 변경하여 중지시킨다.
-		if ( updateDagRunState(wfId, "failed", "running") ) {
-			listTaskInstances(wfId.toUrl(m_airflowUrl), "running")
-				.forEach(taskInstNode -> {
-					String taskId = taskInstNode.get("task_id").asText();
-					String url = String.format("%s/taskInstances/%s", wfId.toUrl(m_airflowUrl), taskId);
-					String reqBodyStr = "{\"state\": \"failed\"}";
-					RequestBody reqBody = RequestBody.create(reqBodyStr, HttpRESTfulClient.MEDIA_TYPE_JSON);
-					getRestfulClient().patch(url, reqBody);
-				});
-		}
+		// Airflow는 DagRun을 'failed'로 변경할 때 수행 중인 TaskInstance들을 'failed'로,
+		// 아직 수행되지 않은 TaskInstance들은 'skipped'로 함께 변경하기 때문에
+		// TaskInstance들을 개별적으로 변경할 필요가 없다.
+		updateDagRunState(wfId, "failed", "running");
+		invalidateCachedDagRun(wfId);
+	}
+
+	@Override
+	public void stopWorkflowAll(List<String> wfIds) throws ResourceNotFoundException {
+		m_fanOut.map(wfIds, wfId -> {
+			stopWorkflow(wfId);
+			return wfId;
+		});
 	}
 
 	@Override
@@ -241,17 +344,92 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 
 	@Override
 	public String getWorkflowLog(String wfId, String podName) throws ResourceNotFoundException {
-		throw new RuntimeException("suspendWorkflow is not supported in Airflow");
+		// Airflow에는 POD 개념이 없으므로 'podName'을 task 식별자로 간주한다.
+		StringWriter writer = new StringWriter();
+		try {
+			streamTaskLog(wfId, podName, null, null, false, writer);
+			return writer.toString();
+		}
+		catch ( IOException e ) {
+			throw new MDTWorkflowInstanceManagerException(
+								String.format("fails to read task log: workflow=%s, task=%s", wfId, podName), e);
+		}
+	}
+
+	@Override
+	public void streamTaskLog(String wfIdStr, String taskId, @Nullable Integer tryNumber, @Nullable Integer tail,
+								boolean follow, Writer writer) throws ResourceNotFoundException, IOException {
+		AirflowWorkflowId wfId = AirflowWorkflowId.parse(wfIdStr);
+		
+		// fan-out 묶음에 속한 task는 Airflow에서 묶음 식별자와 map index로 식별된다.
+		String tiTaskId = taskId;
+		Integer mapIndex = null;
+		for ( Map.Entry<String,List<String>> group: getFanOutMembers(getDagRunNode(wfId)).entrySet() ) {
+			int idx = group.getValue().indexOf(taskId);
+			if ( idx >= 0 ) {
+				tiTaskId = group.getKey();
+				mapIndex = idx;
+				break;
+			}
+		}
+		String taskInstUrl = String.format("%s/taskInstances/%s", wfId.toUrl(m_airflowUrl),
+											URLEncoder.encode(tiTaskId, StandardCharsets.UTF_8));
+		
+		// 로그 조각과 TaskInstance 상태는 매번 변경되므로 응답 캐쉬를 사용하지 않는다.
+		HttpRESTfulClient client = getRestfulClient();
+		AirflowTaskLogStreamer streamer = new AirflowTaskLogStreamer(url -> client.get(url, m_jsonNodeDeser),
+																	taskInstUrl, mapIndex,
+																	m_conf.getLogPollInterval());
+		streamer.stream(tryNumber, tail, follow, writer);
 	}
 
 	@Override
 	public void onWorkflowModelAdded(WorkflowModel wfModel) throws MDTWorkflowInstanceManagerException {
+		publishDagFile(wfModel);
+	}
+
+	@Override
+	public int regenerateWorkflowScripts(List<WorkflowModel> wfModels) throws MDTWorkflowInstanceManagerException {
+		// DAG 파일 생성은 CPU 작업이므로 가용 코어 수 만큼 병렬로 수행한다.
+		long nchanges = wfModels.parallelStream()
+								.filter(wfModel -> {
+									try {
+										return publishDagFile(wfModel);
+									}
+									catch ( Exception e ) {
+										s_logger.error("failed to regenerate Airflow DAG: model={}, cause={}",
+														wfModel.getId(), "" + e);
+										return false;
+									}
+								})
+								.count();
+		s_logger.info("regenerated Airflow DAG files: total={}, changed={}", wfModels.size(), nchanges);
+		
+		return (int)nchanges;
+	}
+	
+	private boolean publishDagFile(WorkflowModel wfModel) throws MDTWorkflowInstanceManagerException {
 		try {
 			StringWriter writer = new StringWriter();
-			DagSpec dag = AirflowDagGenerator.generate(wfModel, writer);
+			DagSpec dag = AirflowDagGenerator.generate(wfModel, m_conf.getDagOptions(wfModel.getId()), writer);
 			writer.close();
 			
-			IOUtils.toFile(writer.toString(), new File(m_conf.getDagsFolder(), dag.getId() + ".py"));			
+			// DAG 파일이 참조하는 side-car 파일을 먼저 게시한다.
+			String sideCar = null;
+			if ( dag.hasSideCar() ) {
+				StringWriter sideCarWriter = new StringWriter();
+				dag.writeSideCar(sideCarWriter);
+				sideCar = sideCarWriter.toString();
+			}
+			boolean sideCarChanged = m_dagPublisher.publishSideCar(dag.getId(), sideCar);
+			
+			// 내용이 변경된 경우에만 DAG 파일을 (원자적으로) 교체하여 불필요한 재파싱을 피한다.
+			boolean changed = m_dagPublisher.publish(dag.getId(), writer.toString());
+			if ( changed && m_conf.isReparseOnPublish() ) {
+				requestDagFileReparse(dag.getId());
+			}
+			
+			return changed || sideCarChanged;
 		}
 		catch ( IOException e ) {
 			throw new MDTWorkflowInstanceManagerException(
@@ -265,21 +443,55 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 		String url = String.format("%s/dags/%s", m_airflowUrl, dagIdEncoded);
 		getRestfulClient().delete(url);
 		
-		File dagFile = new File(m_conf.getDagsFolder(), wfModelId + ".py");
-		if ( dagFile.isFile() ) {
-			if ( !dagFile.delete() ) {
-				throw new MDTWorkflowInstanceManagerException(
-						"failed to delete Airflow DAG file: " + dagFile.getAbsolutePath());
+		try {
+			m_dagPublisher.remove(wfModelId);
+		}
+		catch ( IOException e ) {
+			throw new MDTWorkflowInstanceManagerException(
+					"failed to delete Airflow DAG file: " + m_dagPublisher.getDagFile(wfModelId).getAbsolutePath(), e);
+		}
+	}
+	
+	/**
+	 * Airflow에게 주어진 DAG의 파일만을 다시 파싱하도록 요청한다.
+	 * <p>
+	 * 아직 Airflow에 등록되지 않은 DAG인 경우에는 scheduler가 새 파일을 스스로 발견하므로
+	 * 별도의 요청을 하지 않는다. 요청에 실패하더라도 DAG 파일은 다음 주기에 파싱되므로
+	 * 오류는 기록만 한다.
+	 *
+	 * @param dagId	재파싱할 DAG 식별자.
+	 */
+	private void requestDagFileReparse(String dagId) {
+		try {
+			String dagIdEncoded = URLEncoder.encode(dagId, StandardCharsets.UTF_8);
+			String url = String.format("%s/dags/%s/details", m_airflowUrl, dagIdEncoded);
+			JsonNode dag = getRestfulClient().get(url, m_jsonNodeDeser);
+			if ( !dag.hasNonNull("file_token") ) {
+				return;
 			}
+			
+			String fileToken = URLEncoder.encode(dag.get("file_token").asText(), StandardCharsets.UTF_8);
+			getRestfulClient().put(String.format("%s/parseDagFile/%s", m_airflowUrl, fileToken),
+									RequestBody.create("", HttpRESTfulClient.MEDIA_TYPE_JSON));
+		}
+		catch ( Exception e ) {
+			s_logger.warn("failed to request Airflow DAG re-parse: dag={}, cause={}", dagId, "" + e);
 		}
 	}
 
 	@Override
 	public String getWorkflowScript(String wfModelId) throws ResourceNotFoundException {
-		WorkflowModel wfModel = m_wfModelManager.getWorkflowModel(wfModelId);
+		// 생성된 DAG 스크립트는 모델 버전 해시별로 캐쉬하며, 버전은 변경되지 않으므로 만료시키지 않는다.
+		String version = m_wfModelManager.getCurrentVersion(wfModelId);
+		return m_scriptCache.get(version, Duration.ZERO, script -> true,
+								etag -> ResponseCache.Loaded.of(generateScript(version), null));
+	}
+	
+	private String generateScript(String version) {
+		WorkflowModel wfModel = m_wfModelManager.getWorkflowModelVersion(version);
 		try {
 			StringWriter writer = new StringWriter();
-			AirflowDagGenerator.generate(wfModel, writer);
+			AirflowDagGenerator.generate(wfModel, m_conf.getDagOptions(wfModel.getId()), writer);
 			writer.close();
 			
 			return writer.toString();		
@@ -296,39 +508,205 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
     						getClass().getSimpleName(), m_conf.getDagsFolder());
 	}
 	
-	private FStream<Workflow> listDagRuns(String dagId) {
-		String url = String.format("%s/dags/%s/dagRuns", m_airflowUrl, dagId);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		return FStream.from(result.get("dag_runs").elements())
-				.mapOrIgnore(jnode -> {
-					try {
-						return getWorkflowFromDagRun(dagId, jnode);
-					}
-					catch ( Exception e ) {
-						String dagRunId = jnode.get("dag_run_id").asText();
-						s_logger.error("ignore the dagRun causing error: dagRun={}, cause={}", dagRunId,  ""+e);
-						throw e;
-					}
-				});
-	}
-	private FStream<String> listDagRunIds(String dagId) {
-		String url = String.format("%s/dags/%s/dagRuns", m_airflowUrl, dagId);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		return FStream.from(result.get("dag_runs").elements())
-						.map(jnode -> jnode.get("dag_run_id").asText());
+	/**
+	 * Airflow에 등록된 DAG들 중에서 'mdt' tag가 붙은 DAG들의 식별자 목록을 반환한다.
+	 *
+	 * @return	DAG 식별자 목록.
+	 */
+	private List<String> listMdtDagIds() {
+		return listDagNodes()
+				        .filter(dagNode -> existsTag(dagNode, "mdt"))
+						.map(dagNode -> dagNode.get("dag_id").asText())
+						.toList();
+	}
+	
+	/**
+	 * Airflow에 등록된 모든 DAG들을 페이지 단위로 차례대로 읽어오는 스트림을 반환한다.
+	 *
+	 * @return	DAG JSON 노드들의 스트림.
+	 */
+	private FStream<JsonNode> listDagNodes() {
+		String url = String.format("%s/dags", m_airflowUrl);
+		return pagedGet(url, "dags");
+	}
+	
+	/**
+	 * 주어진 DAG들에 속한 모든 DagRun들을 batch API ({@code /dags/~/dagRuns/list})를 통해
+	 * 한번의 요청으로 조회한다.
+	 *
+	 * @param dagIds	대상 DAG 식별자 목록.
+	 * @return	DagRun JSON 노드들의 스트림.
+	 */
+	private FStream<JsonNode> listDagRunNodes(List<String> dagIds) {
+		if ( dagIds.isEmpty() ) {
+			return FStream.empty();
+		}
+		
+		ObjectNode body = MDTModelSerDe.getJsonMapper().createObjectNode();
+		addStringArray(body, "dag_ids", dagIds);
+		
+		String url = String.format("%s/dags/~/dagRuns/list", m_airflowUrl);
+		return pagedPost(url, body, "dag_runs");
+	}
+	
+	/**
+	 * 주어진 조건을 만족하는 모든 TaskInstance들을 batch API
+	 * ({@code /dags/~/dagRuns/~/taskInstances/list})를 통해 한번의 요청으로 조회한다.
+	 *
+	 * @param dagIds	대상 DAG 식별자 목록.
+	 * @param dagRunIds	대상 DagRun 식별자 목록. {@code null}인 경우에는 DagRun 조건을 사용하지 않는다.
+	 * @param state		대상 TaskInstance 상태. {@code null}인 경우에는 상태 조건을 사용하지 않는다.
+	 * @return	TaskInstance JSON 노드들의 스트림.
+	 */
+	private FStream<JsonNode> listTaskInstanceNodes(List<String> dagIds, @Nullable List<String> dagRunIds,
+													@Nullable String state) {
+		if ( dagIds.isEmpty() ) {
+			return FStream.empty();
+		}
+		
+		ObjectNode body = MDTModelSerDe.getJsonMapper().createObjectNode();
+		addStringArray(body, "dag_ids", dagIds);
+		if ( dagRunIds != null ) {
+			addStringArray(body, "dag_run_ids", dagRunIds);
+		}
+		if ( state != null ) {
+			addStringArray(body, "state", List.of(state));
+		}
+		
+		String url = String.format("%s/dags/~/dagRuns/~/taskInstances/list", m_airflowUrl);
+		return pagedPost(url, body, "task_instances");
+	}
+	
+	/**
+	 * limit/offset 질의 인자를 사용하는 GET 목록 API의 결과를 페이지 단위로 차례대로
+	 * 읽어오는 스트림을 반환한다.
+	 * <p>
+	 * 다음 페이지는 현재 페이지의 항목들이 모두 소비된 경우에만 요청된다.
+	 *
+	 * @param url			목록 API URL. 질의 인자를 포함할 수 있다.
+	 * @param itemsField	응답 JSON에서 항목 배열이 저장된 필드 이름.
+	 * @return	항목 JSON 노드들의 스트림.
+	 */
+	private FStream<JsonNode> pagedGet(String url, String itemsField) {
+		String sep = url.contains("?") ? "&" : "?";
+		AirflowPageIterator iter = new AirflowPageIterator((offset, limit) -> {
+			String pageUrl = String.format("%s%slimit=%d&offset=%d", url, sep, limit, offset);
+			return getRestfulClient().get(pageUrl, m_jsonNodeDeser);
+		}, itemsField, m_conf.getPageSize());
+		return FStream.from(iter);
+	}
+	
+	/**
+	 * page_limit/page_offset 필드를 사용하는 POST 방식의 batch 목록 API의 결과를
+	 * 페이지 단위로 차례대로 읽어오는 스트림을 반환한다.
+	 *
+	 * @param url			목록 API URL.
+	 * @param body			페이지 정보를 제외한 요청 body.
+	 * @param itemsField	응답 JSON에서 항목 배열이 저장된 필드 이름.
+	 * @return	항목 JSON 노드들의 스트림.
+	 */
+	private FStream<JsonNode> pagedPost(String url, ObjectNode body, String itemsField) {
+		AirflowPageIterator iter = new AirflowPageIterator((offset, limit) -> {
+			ObjectNode pageBody = body.deepCopy();
+			pageBody.put("page_offset", offset);
+			pageBody.put("page_limit", limit);
+			return getRestfulClient().post(url, toJsonRequestBody(pageBody), m_jsonNodeDeser);
+		}, itemsField, m_conf.getPageSize());
+		return FStream.from(iter);
+	}
+	
+	private static void addStringArray(ObjectNode body, String field, List<String> values) {
+		ArrayNode array = body.putArray(field);
+		values.forEach(array::add);
+	}
+	
+	private static RequestBody toJsonRequestBody(JsonNode body) {
+		return RequestBody.create(body.toString(), HttpRESTfulClient.MEDIA_TYPE_JSON);
+	}
+	
+	private AirflowWorkflowId toAirflowWorkflowId(JsonNode dagRunNode) {
+		return new AirflowWorkflowId(dagRunNode.get("dag_id").asText(), dagRunNode.get("dag_run_id").asText());
 	}
 	
 	private JsonNode getDagRunNode(AirflowWorkflowId wfId) {
-		return getRestfulClient().get(wfId.toUrl(m_airflowUrl), m_jsonNodeDeser);
+		// 종료된 DagRun은 더 이상 변경되지 않으므로 만료시키지 않는다.
+		return cachedGet(wfId.toUrl(m_airflowUrl), m_conf.getDagRunCacheTtl(),
+						dagRun -> TERMINAL_DAG_RUN_STATES.contains(dagRun.path("state").asText()));
+	}
+	
+	private void invalidateCachedDagRun(AirflowWorkflowId wfId) {
+		String url = wfId.toUrl(m_airflowUrl);
+		m_responseCache.invalidate(url);
+		m_responseCache.invalidatePrefix(url + "/");
+	}
+	
+	/**
+	 * 주어진 URL에 대한 GET 요청 결과를 응답 캐쉬를 통해 반환한다.
+	 *
+	 * @param url			요청 URL.
+	 * @param ttl			응답의 캐쉬 유효 기간.
+	 * @param isImmutable	응답이 더 이상 변경될 수 없는지를 판단하는 함수.
+	 * @return	응답 JSON 노드.
+	 */
+	private JsonNode cachedGet(String url, Duration ttl, Predicate<JsonNode> isImmutable) {
+		return m_responseCache.get(url, ttl, isImmutable, etag -> conditionalGet(url, etag));
+	}
+	
+	private ResponseCache.Loaded<JsonNode> conditionalGet(String url, @Nullable String etag) {
+		// m_httpClient는 getRestfulClient() 호출시 초기화된다.
+		getRestfulClient();
+		
+		Request.Builder builder = new Request.Builder().url(url).get();
+		if ( etag != null ) {
+			builder.header("If-None-Match", etag);
+		}
+		try ( Response resp = m_httpClient.newCall(builder.build()).execute() ) {
+			if ( resp.code() == 304 ) {
+				return ResponseCache.Loaded.notModified();
+			}
+			
+			String respBody = resp.body().string();
+			if ( resp.isSuccessful() ) {
+				JsonNode body = MDTModelSerDe.getJsonMapper().readTree(respBody);
+				return ResponseCache.Loaded.of(body, resp.header("ETag"));
+			}
+			throw toAirflowError(url, resp.code(), respBody);
+		}
+		catch ( IOException e ) {
+			throw new RESTfulIOException("failed to read Airflow resource: url=" + url, e);
+		}
+	}
+	
+	/**
+	 * 이미 받은 Airflow 오류 응답으로부터 예외를 생성한다.
+	 * 404 응답은 {@link ResourceNotFoundException}으로 변환되고, 그 외의 경우는 Airflow가 보낸
+	 * 오류 메시지 ('detail')를 원인으로 하는 {@link MDTWorkflowInstanceManagerException}으로 변환된다.
+	 */
+	private static RuntimeException toAirflowError(String url, int code, String respBody) {
+		if ( code == 404 ) {
+			return new ResourceNotFoundException("AirflowResource", "url=" + url);
+		}
+		
+		String detail;
+		try {
+			detail = MDTModelSerDe.getJsonMapper().readTree(respBody).path("detail").asText(respBody);
+		}
+		catch ( IOException e ) {
+			detail = respBody;
+		}
+		return new MDTWorkflowInstanceManagerException(
+						String.format("Airflow request failed: url=%s, code=%d", url, code),
+						new IOException(detail));
 	}
 	
 	private boolean updateDagRunState(AirflowWorkflowId wfId, String newState, String expectedState) {
-		JsonNode dagRunNode = getDagRunNode(wfId);
+		// 상태 변경 여부는 캐쉬된 상태가 아닌 현재 상태를 기준으로 판단한다.
+		JsonNode dagRunNode = getRestfulClient().get(wfId.toUrl(m_airflowUrl), m_jsonNodeDeser);
 		String currentState = dagRunNode.get("state").asText();
 		if ( currentState.equals(expectedState) ) {
 			String requestBodyStr = String.format("{\"state\": \"%s\"}", newState);
 			RequestBody reqBody = RequestBody.create(requestBodyStr, HttpRESTfulClient.MEDIA_TYPE_JSON);
-			getRestfulClient().patch(wfId.toUrl(m_airflowUrl), reqBody);
+			getRestfulClient().patch(wfId.toUrl(m_airflowUrl) + "?update_mask=state", reqBody);
 			
 			return true;
 		}
@@ -340,12 +718,14 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	private static final class StartWorkflowRequest {
 		private final String m_runIdEncoded;
 		private final String m_logicalDate;
+		private final Map<String,String> m_conf;
 
-		public StartWorkflowRequest(String dagId) {
+		public StartWorkflowRequest(String dagId, String modelVersion) {
 			Instant now = Instant.now();
 //			m_runIdEncoded = String.format("%s__%d", dagId, now.toEpochMilli());
 			m_runIdEncoded = "" + now.toEpochMilli();
 			m_logicalDate = Instant.now().toString();
+			m_conf = Map.of(CONF_MODEL_VERSION, modelVersion);
 		}
 		
 		@JsonProperty("dag_run_id")
@@ -357,7 +737,14 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 		public String getLogicalDate() {
 			return m_logicalDate;
 		}
+		
+		@JsonProperty("conf")
+		public Map<String,String> getConf() {
+			return m_conf;
+		}
 	}
+	/** DagRun 설정 (conf)에 수행된 모델 버전 (내용 해시)을 기록하는 항목 이름. */
+	private static final String CONF_MODEL_VERSION = "mdt_model_version";
 	
 	private String getJwtToken(HttpRESTfulClient client, String userName, String password) {
 		String url = String.format("%s/auth/token", m_conf.getAirflowBaseUrl());
@@ -367,11 +754,13 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
         return respJson.get("access_token").asText();
 	}
 	
-	private Workflow getWorkflowFromDagRun(String modelId, JsonNode dagRunNode) {
-		AirflowWorkflowId wfId = new AirflowWorkflowId(modelId, dagRunNode.get("dag_run_id").asText());
-		String url = wfId.toUrl(m_airflowUrl);
-		
-		JsonNode dagRun = getRestfulClient().get(url, m_jsonNodeDeser);
+	private Workflow getWorkflowFromDagRun(JsonNode dagRun) {
+		AirflowWorkflowId wfId = toAirflowWorkflowId(dagRun);
+		return toWorkflow(dagRun, listTaskInstances(wfId.toUrl(m_airflowUrl)));
+	}
+	
+	private Workflow toWorkflow(JsonNode dagRun, FStream<JsonNode> taskInsts) {
+		AirflowWorkflowId wfId = toAirflowWorkflowId(dagRun);
 		
 		WorkflowStatus status = switch ( dagRun.get("state").asText() ) {
             case "success" -> WorkflowStatus.COMPLETED;
@@ -389,22 +778,73 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 								? LocalDateTimes.fromInstant(Instant.parse(dagRun.get("end_date").asText()))
 								: null;
 		
-		List<NodeTask> tasks = listTaskInstances(url, null)
-									.map(this::getNodeTaskFromTaskInstance)
-									.toList();
-		return new Workflow(wfId.toStringExpr(), modelId, status, creationTime, startTime, finishTime, tasks);
+		List<JsonNode> tiNodes = taskInsts.toList();
+		Map<String,List<String>> fanOuts = tiNodes.stream().anyMatch(ti -> ti.path("map_index").asInt(-1) >= 0)
+										? getFanOutMembers(dagRun) : Collections.emptyMap();
+		List<NodeTask> tasks = FStream.from(tiNodes)
+										.map(ti -> getNodeTaskFromTaskInstance(ti, fanOuts))
+										.toList();
+		return new Workflow(wfId.toStringExpr(), wfId.getDagId(), status, creationTime, startTime, finishTime,
+							tasks);
+	}
+	
+	private FStream<JsonNode> listTaskInstances(String url) {
+		String tiUrl = String.format("%s/taskInstances?", url);
+		
+		AirflowPageIterator iter = new AirflowPageIterator((offset, limit) -> {
+			String pageUrl = String.format("%slimit=%d&offset=%d", tiUrl, limit, offset);
+			return cachedGet(pageUrl, m_conf.getTaskInstanceCacheTtl(), this::isTerminalTaskInstancePage);
+		}, "task_instances", m_conf.getPageSize());
+		return FStream.from(iter);
+	}
+	
+	/**
+	 * 주어진 TaskInstance 목록 페이지의 모든 TaskInstance가 종료 상태인지 여부를 반환한다.
+	 * <p>
+	 * 이런 페이지는 더 이상 변경되지 않으므로 캐쉬에서 만료시키지 않는다.
+	 * 아직 TaskInstance가 생성되지 않았을 수 있으므로 빈 페이지는 종료 상태로 보지 않는다.
+	 */
+	private boolean isTerminalTaskInstancePage(JsonNode page) {
+		JsonNode taskInsts = page.path("task_instances");
+		if ( taskInsts.isEmpty() ) {
+			return false;
+		}
+		for ( JsonNode ti: taskInsts ) {
+			if ( !TERMINAL_TASK_STATES.contains(ti.path("state").asText()) ) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
-	private FStream<JsonNode> listTaskInstances(String url, @Nullable String stateFilter) {
-		url = ( stateFilter != null )
-			? String.format("%s/taskInstances?state=%s", url, stateFilter)
-			:  String.format("%s/taskInstances", url);
-		JsonNode result = getRestfulClient().get(url, m_jsonNodeDeser);
-		return FStream.from(result.get("task_instances").elements());
+	/**
+	 * 주어진 DagRun을 수행한 모델 버전의 fan-out 묶음별 task 식별자 목록을 반환한다.
+	 * <p>
+	 * DagRun 설정에 모델 버전이 기록되지 않은 경우에는 현재 모델을 사용하며,
+	 * 모델이 삭제된 경우에는 빈 map을 반환한다.
+	 */
+	private Map<String,List<String>> getFanOutMembers(JsonNode dagRun) {
+		String version = dagRun.path("conf").path(CONF_MODEL_VERSION).asText(null);
+		try {
+			WorkflowModel wfModel = (version != null)
+									? m_wfModelManager.getWorkflowModelVersion(version)
+									: m_wfModelManager.getWorkflowModel(dagRun.get("dag_id").asText());
+			return DagSpec.getFanOutMembers(wfModel);
+		}
+		catch ( ResourceNotFoundException expected ) {
+			return Collections.emptyMap();
+		}
 	}
 	
-	private NodeTask getNodeTaskFromTaskInstance(JsonNode taskInstNode) {
+	private NodeTask getNodeTaskFromTaskInstance(JsonNode taskInstNode, Map<String,List<String>> fanOuts) {
 		String taskId = taskInstNode.get("task_id").asText();
+		
+		// 동적 매핑된 TaskInstance는 map index에 해당하는 묶음 내 task로 변환한다.
+		int mapIndex = taskInstNode.path("map_index").asInt(-1);
+		List<String> members = fanOuts.get(taskId);
+		if ( mapIndex >= 0 && members != null && mapIndex < members.size() ) {
+			taskId = members.get(mapIndex);
+		}
 
 		String statusStr = taskInstNode.get("state").asText();
 		if ( statusStr.equals("null") ) {
@@ -452,47 +892,77 @@ public class AirflowWorkflowManager implements WorkflowInstanceManagerProvider,
 	}
 	
 	private HttpRESTfulClient getRestfulClient() {
-		if ( m_restfulClient == null ) {
-			try {
-				OkHttpClient httpClient = OkHttpClientUtils.newTrustAllOkHttpClientBuilder().build();
-				JsonMapper mapper = MDTModelSerDe.getJsonMapper();
-				m_restfulClient = HttpRESTfulClient.builder()
-													.httpClient(httpClient)
-													.jsonMapper(mapper)
-													.errorEntityDeserializer(new AirflowErrorEntityDeserializer())
-													.build();
-
-				m_jwtToken = getJwtToken(m_restfulClient, "airflow", "airflow");
-				m_restfulClient = HttpRESTfulClient.builder()
-													.httpClient(httpClient)
-													.header("Authorization", "Bearer " + m_jwtToken)
-													.jsonMapper(mapper)
-													.errorEntityDeserializer(new AirflowErrorEntityDeserializer())
-													.build();
-				
-				// 혹시 있을지 모르는 'mdt_manager_url' variable 제거하고 다시 새 endpoint 추가한다.
-				try {
-					m_restfulClient.delete(String.format("%s/variables/%s", m_airflowUrl, VARIABLE_MDT_URL));
+		// Double-checked locking을 통해 여러 쓰레드가 동시에 호출하더라도 초기화 작업
+		// (JWT 토큰 발급 및 'mdt_manager_url' variable 등록)은 단 한번만 수행되도록 한다.
+		HttpRESTfulClient client = m_restfulClient;
+		if ( client == null ) {
+			synchronized ( m_initLock ) {
+				client = m_restfulClient;
+				if ( client == null ) {
+					client = m_restfulClient = initRestfulClient();
 				}
-				catch ( RESTfulRemoteException ignored ) { }
-				
-				
-				String reqBody = StrSubstitutor.with(Map.of("VARIABLE_MDT_URL", VARIABLE_MDT_URL,
-														"MDT_URL", m_conf.getMdtUrl()))
-											.replace(ADD_VARIABLE_BODY);
-				m_restfulClient.post(String.format("%s/variables", m_airflowUrl),
-										RequestBody.create(reqBody, HttpRESTfulClient.MEDIA_TYPE_JSON));
-				s_logger.info("successfully connected to Airflow REST API: airflow-url={}", m_airflowUrl);
-			}
-			catch ( RESTfulIOException e ) {
-				throw new RESTfulIOException("failed to connect to Airflow REST API, airflow-url="
-											+ m_airflowUrl, e);
-			}
-			catch ( Exception e ) {
-				throw new RuntimeException("failed to initialize AirflowWorkflowManager", e);
 			}
 		}
 		
-		return m_restfulClient;
+		return client;
+	}
+	
+	private HttpRESTfulClient initRestfulClient() {
+		AirflowJwtTokenProvider tokenProvider = null;
+		try {
+			OkHttpClient bareHttpClient = OkHttpClientUtils.newTrustAllOkHttpClientBuilder().build();
+			JsonMapper mapper = MDTModelSerDe.getJsonMapper();
+			HttpRESTfulClient bareClient = HttpRESTfulClient.builder()
+															.httpClient(bareHttpClient)
+															.jsonMapper(mapper)
+															.errorEntityDeserializer(new AirflowErrorEntityDeserializer())
+															.build();
+
+			// JWT 토큰은 background 쓰레드에서 만료 전에 미리 갱신되고,
+			// 모든 요청에는 interceptor를 통해 최신 토큰이 추가된다.
+			tokenProvider = new AirflowJwtTokenProvider(() -> getJwtToken(bareClient, "airflow", "airflow"),
+														m_conf.getTokenRenewMargin());
+			OkHttpClient httpClient = bareHttpClient.newBuilder()
+													.addInterceptor(tokenProvider.asInterceptor())
+													.authenticator(tokenProvider.asAuthenticator())
+													.build();
+			m_httpClient = httpClient;
+			HttpRESTfulClient client = HttpRESTfulClient.builder()
+														.httpClient(httpClient)
+														.jsonMapper(mapper)
+														.errorEntityDeserializer(new AirflowErrorEntityDeserializer())
+														.build();
+			
+			// 혹시 있을지 모르는 'mdt_manager_url' variable 제거하고 다시 새 endpoint 추가한다.
+			try {
+				client.delete(String.format("%s/variables/%s", m_airflowUrl, VARIABLE_MDT_URL));
+			}
+			catch ( RESTfulRemoteException ignored ) { }
+			
+			String reqBody = StrSubstitutor.with(Map.of("VARIABLE_MDT_URL", VARIABLE_MDT_URL,
+													"MDT_URL", m_conf.getMdtUrl()))
+										.replace(ADD_VARIABLE_BODY);
+			client.post(String.format("%s/variables", m_airflowUrl),
+									RequestBody.create(reqBody, HttpRESTfulClient.MEDIA_TYPE_JSON));
+			s_logger.info("successfully connected to Airflow REST API: airflow-url={}", m_airflowUrl);
+			
+			m_tokenProvider = tokenProvider;
+			return client;
+		}
+		catch ( RESTfulIOException e ) {
+			closeQuietly(tokenProvider);
+			throw new RESTfulIOException("failed to connect to Airflow REST API, airflow-url="
+										+ m_airflowUrl, e);
+		}
+		catch ( Exception e ) {
+			closeQuietly(tokenProvider);
+			throw new RuntimeException("failed to initialize AirflowWorkflowManager", e);
+		}
+	}
+	
+	private static void closeQuietly(@Nullable AirflowJwtTokenProvider tokenProvider) {
+		if ( tokenProvider != null ) {
+			tokenProvider.close();
+		}
 	}
 }
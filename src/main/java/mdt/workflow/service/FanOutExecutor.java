@@ -0,0 +1,128 @@
+package mdt.workflow.service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import utils.stream.FStream;
+
+
+/**
+ * 서로 독립적인 원격 요청들을 virtual thread들을 이용하여 동시에 수행시키는 실행기.
+ * <p>
+ * 동시에 수행 중인 요청의 수는 생성시 지정된 최대 수로 제한되며,
+ * 결과는 요청 수행 완료 순서와 무관하게 항상 입력 순서대로 반환된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class FanOutExecutor implements AutoCloseable {
+	private final ExecutorService m_executor;
+	private final Semaphore m_permits;
+
+	/**
+	 * 실행기를 생성한다.
+	 *
+	 * @param maxInFlight	동시에 수행될 수 있는 최대 요청 수.
+	 */
+	public FanOutExecutor(int maxInFlight) {
+		Preconditions.checkArgument(maxInFlight > 0, "invalid max in-flight count: %s", maxInFlight);
+
+		m_executor = Executors.newVirtualThreadPerTaskExecutor();
+		m_permits = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * 주어진 작업을 별도의 virtual thread에서 비동기적으로 수행시킨다.
+	 *
+	 * @param task	수행할 작업.
+	 * @return	작업 결과에 대한 {@link Future} 객체.
+	 */
+	public <R> Future<R> submit(Callable<R> task) {
+		return m_executor.submit(() -> {
+			m_permits.acquire();
+			try {
+				return task.call();
+			}
+			finally {
+				m_permits.release();
+			}
+		});
+	}
+
+	/**
+	 * 입력 원소 각각에 대해 주어진 함수를 동시에 수행시키고, 그 결과를 입력 순서대로 반환한다.
+	 * <p>
+	 * 일부 호출이 실패한 경우에는 모든 호출이 종료된 후, 입력 순서상 첫번째로 실패한
+	 * 호출의 예외를 던진다.
+	 *
+	 * @param inputs	입력 원소 목록.
+	 * @param func		각 입력 원소에 적용할 함수.
+	 * @return	입력 순서대로 정렬된 결과 목록.
+	 */
+	public <T,R> List<R> map(List<T> inputs, Function<? super T,? extends R> func) {
+		List<Future<R>> futures = FStream.from(inputs)
+										.map(input -> this.<R>submit(() -> func.apply(input)))
+										.toList();
+
+		RuntimeException failure = null;
+		List<R> results = Lists.newArrayListWithCapacity(futures.size());
+		for ( Future<R> future: futures ) {
+			try {
+				results.add(await(future));
+			}
+			catch ( RuntimeException e ) {
+				if ( failure == null ) {
+					failure = e;
+				}
+			}
+		}
+		if ( failure != null ) {
+			throw failure;
+		}
+
+		return results;
+	}
+
+	/**
+	 * 주어진 {@link Future}의 결과를 기다려 반환한다.
+	 * <p>
+	 * 작업 수행 중 발생한 예외는 {@link ExecutionException}으로 감싸지 않고 그대로 던진다.
+	 *
+	 * @param future	대기할 {@link Future} 객체.
+	 * @return	작업 결과.
+	 */
+	public static <R> R await(Future<R> future) {
+		try {
+			return future.get();
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while waiting for a fan-out request", e);
+		}
+		catch ( ExecutionException e ) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException re ) {
+				throw re;
+			}
+			else if ( cause instanceof Error err ) {
+				throw err;
+			}
+			else {
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		m_executor.shutdownNow();
+	}
+}
@@ -1,53 +1,312 @@
 package mdt.workflow.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
+import javax.sql.DataSource;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator.Feature;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.RequiredArgsConstructor;
 
 import utils.func.Try;
 
+import mdt.model.MDTModelSerDe;
 import mdt.model.ResourceAlreadyExistsException;
 import mdt.model.ResourceNotFoundException;
 import mdt.workflow.MDTWorkflowManagerException;
 import mdt.workflow.WorkflowModel;
 import mdt.workflow.WorkflowModelManager;
 import mdt.workflow.argo.ArgoWorkflowDescriptor;
+import mdt.workflow.config.WorkflowModelManagerConfiguration;
 import mdt.workflow.domain.JpaWorkflowModel;
+import mdt.workflow.domain.JpaWorkflowModelActivation;
+import mdt.workflow.domain.JpaWorkflowModelVersion;
+import mdt.workflow.domain.WorkflowModelReference;
+import mdt.workflow.domain.WorkflowModelSummary;
+import mdt.workflow.domain.WorkflowModelVersionInfo;
+import mdt.workflow.repository.JpaWorkflowModelActivationRepository;
+import mdt.workflow.repository.JpaWorkflowModelRefRepository;
 import mdt.workflow.repository.JpaWorkflowModelRepository;
+import mdt.workflow.repository.JpaWorkflowModelVersionRepository;
 
 /**
+ * DB에 저장된 워크플로우 모델을 관리한다.
+ * <p>
+ * {@link #getWorkflowModel(String)}로 읽은 모델은 파싱된 상태로 크기와 유효 기간이 제한된 캐쉬에
+ * 저장된다. 모델이 추가, 변경 또는 삭제되면 PostgreSQL {@code NOTIFY}를 통해 같은 DB를 사용하는
+ * 모든 manager 인스턴스에게 통보되며, 각 인스턴스는 통보받은 모델을 캐쉬에서 제거한다.
+ * <p>
+ * 모델이 저장되어 현재 버전이 바뀔 때마다 모델 내용의 해시를 key로 하는 변경 불가능한 버전
+ * ({@link JpaWorkflowModelVersion})과 버전 변경 기록 ({@link JpaWorkflowModelActivation})이 모델과
+ * 같은 트랜잭션으로 저장되며, 모델은 현재 버전의 해시를 가리킨다.
+ * 버전은 변경되지 않으므로 해시로 읽은 버전은 무효화 없이 캐쉬된다.
+ * <p>
+ * 모델이 참조하는 MDT 인스턴스, 서브모델, SubmodelElement들은 모델 저장시 역색인 테이블에 함께 기록되므로,
+ * 특정 대상을 참조하는 모델들은 모델을 읽지 않고 색인 조회로 찾을 수 있다.
  *
  * @author Kang-Woo Lee (ETRI)
  */
 @Service
 @RequiredArgsConstructor
-public class JpaWorkflowModelManager implements WorkflowModelManager {
+public class JpaWorkflowModelManager implements WorkflowModelManager, InitializingBean, DisposableBean {
+	private static final Logger s_logger = LoggerFactory.getLogger(JpaWorkflowModelManager.class);
+	// 모든 모델이 변경되었음을 알리는 통보 payload.
+	private static final String ALL_MODELS = "*";
+	/** {@link #getWorkflowModelPage(String, int)}로 한번에 조회할 수 있는 최대 모델 수. */
+	public static final int MAX_PAGE_SIZE = 1000;
+	
 	private final JpaWorkflowModelRepository m_repo;
+	private final JpaWorkflowModelVersionRepository m_versionRepo;
+	private final JpaWorkflowModelActivationRepository m_activationRepo;
+	private final JpaWorkflowModelRefRepository m_refRepo;
+	private final WorkflowModelManagerConfiguration m_conf;
+	private final DataSource m_dataSource;
+	private final DataSourceProperties m_dataSourceProps;
+	private final JdbcTemplate m_jdbc;
+	private final ObjectProvider<MeterRegistry> m_meterRegistry;
+	private final PlatformTransactionManager m_txManager;
+	private TransactionTemplate m_tx;
+	private ResponseCache<WorkflowModel> m_cache;
+	private ResponseCache<WorkflowModel> m_versionCache;
+	private PgNotificationListener m_listener;
+	private boolean m_notifyEnabled = false;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		m_tx = new TransactionTemplate(m_txManager);
+		m_cache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+		m_versionCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+		m_meterRegistry.ifAvailable(registry -> {
+			m_cache.bindTo(registry, "workflow-model");
+			m_versionCache.bindTo(registry, "workflow-model-version");
+		});
+
+		m_notifyEnabled = isPostgreSQL();
+		if ( m_notifyEnabled ) {
+			m_listener = new PgNotificationListener(m_dataSourceProps.determineUrl(),
+													m_dataSourceProps.determineUsername(),
+													m_dataSourceProps.determinePassword(),
+													m_conf.getInvalidationChannel(),
+													m_conf.getInvalidationRetryInterval(),
+													this::onModelChanged, m_cache::invalidateAll);
+		}
+		else {
+			s_logger.warn("DB is not PostgreSQL: cached workflow models are invalidated only by TTL ({})",
+							m_conf.getCacheTtl());
+		}
+		
+		fillMissingSummaries();
+		fillActivationLog();
+		fillReferenceIndex();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if ( m_listener != null ) {
+			m_listener.close();
+		}
+	}
 
 	public WorkflowModel getWorkflowModel(String id) {
+		return m_cache.get(id, m_conf.getCacheTtl(), wfModel -> false,
+							etag -> ResponseCache.Loaded.of(loadWorkflowModel(id), null));
+	}
+	
+	private WorkflowModel loadWorkflowModel(String id) {
 		return m_repo.findByModelId(id)
-						.map(JpaWorkflowModel::asWorkflowModel)
+						.map(this::toWorkflowModel)
 						.orElseThrow(() -> new ResourceNotFoundException("Workflow model not found: id=" + id));
 	}
 	
     public List<WorkflowModel> getWorkflowModelAll() {
     	return m_repo.findAll().stream()
-					.map(JpaWorkflowModel::asWorkflowModel)
+					.map(this::toWorkflowModel)
 					.toList();
     }
     
+    /**
+     * 주어진 워크플로우 모델의 현재 버전 해시를 반환한다.
+     * 
+     * @param id	워크플로우 모델 식별자.
+     * @return	현재 버전의 내용 해시.
+     * @throws ResourceNotFoundException	식별자에 해당하는 모델이 없는 경우.
+     */
+    public String getCurrentVersion(String id) throws ResourceNotFoundException {
+    	return m_repo.findVersionHashByModelId(id)
+    				.orElseThrow(() -> new ResourceNotFoundException("Workflow model not found: id=" + id));
+    }
+    
+    /**
+     * 주어진 내용 해시에 해당하는 워크플로우 모델 버전을 반환한다.
+     * <p>
+     * 버전은 변경되지 않으므로 한번 읽은 버전은 캐쉬에서 만료되지 않는다.
+     * 
+     * @param versionHash	버전의 내용 해시.
+     * @return	워크플로우 모델.
+     * @throws ResourceNotFoundException	해시에 해당하는 버전이 없는 경우.
+     */
+    public WorkflowModel getWorkflowModelVersion(String versionHash) throws ResourceNotFoundException {
+    	return m_versionCache.get(versionHash, Duration.ZERO, wfModel -> true,
+    							etag -> ResponseCache.Loaded.of(loadWorkflowModelVersion(versionHash), null));
+    }
+    
+    private WorkflowModel loadWorkflowModelVersion(String versionHash) {
+    	return m_versionRepo.findById(versionHash)
+    						.map(JpaWorkflowModelVersion::asWorkflowModel)
+    						.orElseThrow(() -> new ResourceNotFoundException("Workflow model version not found: "
+    																		+ "hash=" + versionHash));
+    }
+    
+    /**
+     * 주어진 워크플로우 모델의 현재 버전이 변경된 기록을 최근 기록부터 반환한다.
+     * <p>
+     * 이전 버전으로 되돌아간 경우에는 같은 버전이 여러 번 포함될 수 있다.
+     * 
+     * @param id	워크플로우 모델 식별자.
+     * @return	버전 정보 목록. 모델이 삭제된 경우에도 이전의 기록들은 반환된다.
+     */
+    public List<WorkflowModelVersionInfo> getWorkflowModelVersions(String id) {
+    	return m_activationRepo.findVersionInfoAll(id);
+    }
+    
+    /**
+     * 주어진 식별자 다음의 워크플로우 모델들을 식별자 순서로 최대 {@code limit}개 반환한다.
+     * <p>
+     * 반환된 모델의 수가 {@code limit}와 같은 경우에는 마지막 모델의 식별자를 {@code after}로 하여
+     * 다음 페이지를 조회할 수 있다.
+     * 
+     * @param after	이전 페이지의 마지막 모델 식별자. 첫 페이지를 조회하는 경우는 {@code null}.
+     * @param limit	최대 모델 수 (1 ~ {@link #MAX_PAGE_SIZE}).
+     * @return	워크플로우 모델 목록.
+     */
+    public List<WorkflowModel> getWorkflowModelPage(@Nullable String after, int limit) {
+    	Preconditions.checkArgument(limit > 0 && limit <= MAX_PAGE_SIZE,
+    								"invalid page limit: %s (1 ~ %s)", limit, MAX_PAGE_SIZE);
+    	
+    	return m_repo.findPageAfter((after != null) ? after : "", Limit.of(limit)).stream()
+					.map(this::toWorkflowModel)
+					.toList();
+    }
+    
+    /**
+     * 등록된 모든 워크플로우 모델의 요약 정보를 식별자 순서로 반환한다.
+     * <p>
+     * 요약 정보는 모델 저장시 별도 컬럼에 함께 기록되므로, 저장된 모델을 읽거나 파싱하지 않는다.
+     * 
+     * @return	워크플로우 모델 요약 정보 목록.
+     */
+    public List<WorkflowModelSummary> getWorkflowModelSummaryAll() {
+    	return m_repo.findSummaryAll();
+    }
+    
+    /**
+     * 주어진 대상을 참조하는 워크플로우 모델들의 식별자를 반환한다.
+     * <p>
+     * 참조는 모델 저장시 역색인 테이블에 기록되므로, 저장된 모델을 읽거나 파싱하지 않는다.
+     * 
+     * @param kind	참조 종류.
+     * @param ref	참조 대상.
+     * @return	워크플로우 모델 식별자 목록 (식별자 순서).
+     * @see WorkflowModelReference
+     */
+    public List<String> findWorkflowModelIdsByReference(WorkflowModelReference.Kind kind, String ref) {
+    	Preconditions.checkArgument(ref != null && !ref.isBlank(), "empty reference");
+    	return m_refRepo.findModelIds(kind, ref.trim());
+    }
+    
+    /**
+     * 엔티티로부터 워크플로우 모델을 읽는다.
+     * <p>
+     * 이전 버전의 형식(JSON)으로 저장되었거나 요약 정보 컬럼이 비어 있는 모델은 읽은 김에
+     * 현재 저장 형식으로 변환하고 요약 정보를 채워 다시 저장한다. 변환 저장은 읽은 이후에 모델이
+     * 교체되지 않은 경우에만 반영되도록 읽은 내용을 조건으로 하는 UPDATE 문장으로 수행되며,
+     * 그 사이에 교체된 경우에는 새 모델이 이미 현재 형식이므로 변환하지 않는다.
+     * 변환 저장에 실패하더라도 다음 읽기에서 다시 시도되므로 오류는 기록만 한다.
+     */
+    private WorkflowModel toWorkflowModel(JpaWorkflowModel entity) {
+    	WorkflowModel wfModel = entity.asWorkflowModel();
+    	if ( entity.isLegacyFormat() || entity.isSummaryMissing() ) {
+    		try {
+    			// 읽은 엔티티는 변경하지 않고, 변환된 내용은 새 엔티티에 담아 조건부로 저장한다.
+    			JpaWorkflowModel converted = new JpaWorkflowModel(wfModel);
+    			boolean migrated = Boolean.TRUE.equals(m_tx.execute(status -> {
+    				int count = m_jdbc.update(MIGRATE_SQL, converted.getJsonModelBytes(), converted.getName(),
+    											converted.getDescription(), converted.getTaskCount(),
+    											converted.getVersionHash(), entity.getId(),
+    											entity.getJsonModelBytes());
+    				if ( count > 0 && !converted.getVersionHash().equals(entity.getVersionHash()) ) {
+    					activateVersions(List.of(converted));
+    				}
+    				return count > 0;
+    			}));
+    			if ( migrated ) {
+    				s_logger.info("migrated WorkflowModel storage: id={}", entity.getId());
+    			}
+    		}
+    		catch ( Exception e ) {
+    			s_logger.warn("failed to migrate WorkflowModel storage: id={}, cause={}",
+    							entity.getId(), "" + e);
+    		}
+    	}
+    	
+    	return wfModel;
+    }
+    private static final String MIGRATE_SQL = """
+    		UPDATE workflow_models
+    		SET json_model_bytes = ?, name = ?, description = ?, task_count = ?, version_hash = ?
+    		WHERE id = ? AND json_model_bytes = ?
+    		""";
+    
+    /**
+     * 워크플로우 모델을 추가한다.
+     * <p>
+     * 모델과 그 버전, 참조 색인은 하나의 트랜잭션으로 저장되므로, 같은 식별자의 모델이 이미 있어
+     * 실패한 경우에는 버전과 참조 색인도 저장되지 않는다.
+     */
     public WorkflowModel addWorkflowModel(WorkflowModel wfModel) {
     	try {
-			JpaWorkflowModel jpaEntity = new JpaWorkflowModel(wfModel);
-			JpaWorkflowModel saved = m_repo.save(jpaEntity);
+			JpaWorkflowModel saved = m_tx.execute(status -> {
+				JpaWorkflowModel entity = m_repo.saveAndFlush(new JpaWorkflowModel(wfModel));
+				activateVersions(List.of(entity));
+				saveReferences(List.of(wfModel));
+				return entity;
+			});
+			notifyModelChanged(wfModel.getId());
 			return saved.asWorkflowModel();
 		}
 		catch ( DataIntegrityViolationException e ) {
@@ -55,21 +314,328 @@ public class JpaWorkflowModelManager implements WorkflowModelManager {
 		}
     }
 
+	/**
+	 * 워크플로우 모델을 추가하거나, 같은 식별자의 모델이 이미 있으면 교체한다.
+	 * <p>
+	 * 추가와 교체는 하나의 {@code INSERT ... ON CONFLICT} 문장으로 수행되므로, 같은 식별자의 모델이
+	 * 동시에 등록되더라도 제약 조건 위반 없이 마지막 등록이 반영된다. 이미 있는 모델과 내용이 같은
+	 * 경우에는 현재 버전이 바뀌지 않으므로 버전 변경 기록도 추가되지 않는다.
+	 * 모델과 그 버전, 참조 색인은 하나의 트랜잭션으로 저장된다.
+	 */
 	public WorkflowModel addOrReplaceWorkflowModel(WorkflowModel wfModel) {
-		if ( m_repo.existsByModelId(wfModel.getId()) ) {
-			m_repo.deleteByModelId(wfModel.getId());
+		JpaWorkflowModel entity = new JpaWorkflowModel(wfModel);
+		m_tx.executeWithoutResult(status -> {
+			if ( m_repo.upsert(entity) ) {
+				activateVersions(List.of(entity));
+				saveReferences(List.of(wfModel));
+			}
+		});
+		notifyModelChanged(wfModel.getId());
+		return wfModel;
+	}
+    
+	private static final String BATCH_INSERT_SQL = """
+			INSERT INTO workflow_models
+					(row_id, id, json_model_bytes, name, description, task_count, updated_at, version_hash)
+			VALUES (nextval('workflow_models_seq'), ?, ?, ?, ?, ?, ?, ?)
+			""";
+	private static final String ON_CONFLICT_SKIP = "ON CONFLICT (id) DO NOTHING";
+	private static final String ON_CONFLICT_REPLACE = """
+			ON CONFLICT (id) DO UPDATE SET
+				json_model_bytes = EXCLUDED.json_model_bytes,
+				name = EXCLUDED.name,
+				description = EXCLUDED.description,
+				task_count = EXCLUDED.task_count,
+				updated_at = EXCLUDED.updated_at,
+				version_hash = EXCLUDED.version_hash
+			WHERE workflow_models.version_hash IS DISTINCT FROM EXCLUDED.version_hash
+			""";
+	private static final String INSERT_VERSION_SQL = """
+			INSERT INTO workflow_model_versions (content_hash, model_id, model_bytes, created_at)
+			VALUES (?, ?, ?, ?)
+			ON CONFLICT (content_hash) DO NOTHING
+			""";
+	private static final String INSERT_ACTIVATION_SQL = """
+			INSERT INTO workflow_model_activations (row_id, model_id, version_hash, activated_at)
+			VALUES (nextval('workflow_model_activations_seq'), ?, ?, ?)
+			""";
+	
+	/**
+	 * 주어진 워크플로우 모델들을 하나의 JDBC batch로 저장한다.
+	 * <p>
+	 * 같은 식별자의 모델이 이미 있는 경우, {@code replace}가 true이면 교체하고 그렇지 않으면 무시한다.
+	 * 모델별 저장 문장은 {@link #addOrReplaceWorkflowModel(WorkflowModel)}와 동일한 upsert 문장이다.
+	 * 모델들과 실제로 저장된 모델들의 버전, 참조 색인은 하나의 트랜잭션으로 저장된다.
+	 * 
+	 * @param wfModels	저장할 워크플로우 모델 목록.
+	 * @param replace	이미 존재하는 모델을 교체할지 여부.
+	 * @return	모델별 저장 여부. 이미 존재하여 무시되었거나, 같은 내용의 모델이 이미 있어
+	 * 			변경되지 않은 모델은 false.
+	 */
+	public boolean[] addWorkflowModelBatch(List<WorkflowModel> wfModels, boolean replace) {
+		List<JpaWorkflowModel> entities = wfModels.stream().map(JpaWorkflowModel::new).toList();
+		boolean[] stored = m_tx.execute(status -> {
+			boolean[] results = upsertBatch(entities, replace);
+			List<JpaWorkflowModel> activateds = Lists.newArrayListWithCapacity(entities.size());
+			List<WorkflowModel> storedModels = Lists.newArrayListWithCapacity(entities.size());
+			for ( int i = 0; i < results.length; ++i ) {
+				if ( results[i] ) {
+					activateds.add(entities.get(i));
+					storedModels.add(wfModels.get(i));
+				}
+			}
+			activateVersions(activateds);
+			saveReferences(storedModels);
+			return results;
+		});
+		
+		if ( replace ) {
+			notifyModelChanged(ALL_MODELS);
 		}
+		return stored;
+	}
+	
+	private boolean[] upsertBatch(List<JpaWorkflowModel> entities, boolean replace) {
+		String sql = BATCH_INSERT_SQL + (replace ? ON_CONFLICT_REPLACE : ON_CONFLICT_SKIP);
+		int[] counts = m_jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int idx) throws SQLException {
+				JpaWorkflowModel entity = entities.get(idx);
+				ps.setString(1, entity.getId());
+				ps.setBytes(2, entity.getJsonModelBytes());
+				ps.setString(3, entity.getName());
+				ps.setString(4, entity.getDescription());
+				ps.setInt(5, entity.getTaskCount());
+				ps.setTimestamp(6, Timestamp.from(entity.getUpdatedAt()));
+				ps.setString(7, entity.getVersionHash());
+			}
+
+			@Override
+			public int getBatchSize() {
+				return entities.size();
+			}
+		});
 		
-		JpaWorkflowModel saved = m_repo.save(new JpaWorkflowModel(wfModel));
-		return saved.asWorkflowModel();
+		boolean[] stored = new boolean[counts.length];
+		for ( int i = 0; i < counts.length; ++i ) {
+			// 드라이버가 문장별 결과 수를 제공하지 않는 경우 (SUCCESS_NO_INFO)는 저장된 것으로 간주한다.
+			stored[i] = counts[i] != 0;
+		}
+		return stored;
 	}
+	
+	/**
+	 * 주어진 엔티티들의 현재 버전이 바뀌었음을 기록한다.
+	 * <p>
+	 * 버전 테이블에는 버전이 없는 경우에만 저장되고 (버전은 내용 해시를 key로 한다),
+	 * 버전 변경 기록은 항상 추가된다. 모델의 현재 버전 포인터를 실제로 변경한 저장과 같은
+	 * 트랜잭션에서 호출되어야 한다.
+	 */
+	private void activateVersions(List<JpaWorkflowModel> entities) {
+		if ( entities.isEmpty() ) {
+			return;
+		}
+		
+		Timestamp now = Timestamp.from(Instant.now());
+		m_jdbc.batchUpdate(INSERT_VERSION_SQL, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int idx) throws SQLException {
+				JpaWorkflowModel entity = entities.get(idx);
+				ps.setString(1, entity.getVersionHash());
+				ps.setString(2, entity.getId());
+				ps.setBytes(3, entity.getJsonModelBytes());
+				ps.setTimestamp(4, now);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return entities.size();
+			}
+		});
+		m_jdbc.batchUpdate(INSERT_ACTIVATION_SQL, entities, entities.size(), (ps, entity) -> {
+			ps.setString(1, entity.getId());
+			ps.setString(2, entity.getVersionHash());
+			ps.setTimestamp(3, now);
+		});
+	}
+	
+	private static final String DELETE_REFS_SQL = "DELETE FROM workflow_model_refs WHERE model_id = ?";
+	private static final String INSERT_REF_SQL = """
+			INSERT INTO workflow_model_refs (kind, ref, model_id)
+			VALUES (?, ?, ?)
+			ON CONFLICT DO NOTHING
+			""";
+	
+	/**
+	 * 주어진 워크플로우 모델들이 참조하는 대상들을 역색인 테이블에 기록한다.
+	 * 모델별로 이전에 기록된 항목들은 모두 삭제된 후 다시 기록되므로, 삭제와 기록이 함께 반영되도록
+	 * 트랜잭션 안에서 호출되어야 한다.
+	 */
+	private void saveReferences(List<WorkflowModel> wfModels) {
+		if ( wfModels.isEmpty() ) {
+			return;
+		}
+		
+		List<Map.Entry<String,WorkflowModelReference>> rows = Lists.newArrayList();
+		for ( WorkflowModel wfModel: wfModels ) {
+			for ( WorkflowModelReference ref: WorkflowModelReference.extract(wfModel) ) {
+				rows.add(Map.entry(wfModel.getId(), ref));
+			}
+		}
+		
+		m_jdbc.batchUpdate(DELETE_REFS_SQL, wfModels, wfModels.size(),
+							(ps, wfModel) -> ps.setString(1, wfModel.getId()));
+		m_jdbc.batchUpdate(INSERT_REF_SQL, rows, rows.size(), (ps, row) -> {
+			ps.setString(1, row.getValue().kind().name());
+			ps.setString(2, row.getValue().ref());
+			ps.setString(3, row.getKey());
+		});
+	}
+	
+	/**
+	 * 등록된 모든 워크플로우 모델을 식별자 순서로 한 줄에 하나씩 JSON (NDJSON) 형식으로 출력한다.
+	 * <p>
+	 * 모델들은 {@link #getWorkflowModelPage(String, int)}를 통해 페이지 단위로 읽혀 출력되므로
+	 * 전체 모델이 한번에 메모리에 적재되지 않는다.
+	 * 
+	 * @param out	출력 스트림.
+	 * @return	출력된 모델 수.
+	 * @throws IOException	출력에 실패한 경우.
+	 */
+	public int exportWorkflowModels(OutputStream out) throws IOException {
+		ObjectWriter writer = MDTModelSerDe.getJsonMapper().writer()
+												.without(SerializationFeature.INDENT_OUTPUT);
+		int count = 0;
+		try ( JsonGenerator gen = writer.createGenerator(out) ) {
+			gen.setRootValueSeparator(null);
+			
+			String cursor = null;
+			while ( true ) {
+				List<WorkflowModel> page = getWorkflowModelPage(cursor, EXPORT_PAGE_SIZE);
+				for ( WorkflowModel wfModel: page ) {
+					writer.writeValue(gen, wfModel);
+					gen.writeRaw('\n');
+				}
+				gen.flush();
+				count += page.size();
+				
+				if ( page.size() < EXPORT_PAGE_SIZE ) {
+					return count;
+				}
+				cursor = page.get(page.size()-1).getId();
+			}
+		}
+	}
+	private static final int EXPORT_PAGE_SIZE = 100;
     
     public void removeWorkflowModel(String id) {
-		m_repo.deleteByModelId(id);
+    	m_tx.executeWithoutResult(status -> {
+    		m_repo.deleteByModelId(id);
+    		m_jdbc.update(DELETE_REFS_SQL, id);
+    	});
+		notifyModelChanged(id);
     }
 
     public void removeWorkflowModelAll() {
-    	Try.run(m_repo::deleteAll);
+    	Try.run(() -> m_tx.executeWithoutResult(status -> {
+    		m_repo.deleteAll();
+    		m_refRepo.deleteAllInBatch();
+    	}));
+    	notifyModelChanged(ALL_MODELS);
+    }
+    
+    /**
+     * 주어진 모델이 변경되었음을 이 인스턴스의 캐쉬에 반영하고, 다른 manager 인스턴스들에게 통보한다.
+     * <p>
+     * 통보에 실패하더라도 다른 인스턴스의 캐쉬는 유효 기간이 지나면 갱신되므로 오류는 기록만 한다.
+     */
+    private void notifyModelChanged(String id) {
+    	onModelChanged(id);
+    	if ( m_notifyEnabled ) {
+    		try {
+	    		m_jdbc.query("SELECT pg_notify(?, ?)", rs -> null, m_conf.getInvalidationChannel(), id);
+    		}
+    		catch ( DataAccessException e ) {
+    			s_logger.warn("failed to notify WorkflowModel change: id={}, cause={}", id, "" + e);
+    		}
+    	}
+    }
+    
+    private void onModelChanged(String id) {
+    	if ( ALL_MODELS.equals(id) ) {
+    		m_cache.invalidateAll();
+    	}
+    	else {
+    		m_cache.invalidate(id);
+    	}
+    }
+    
+    /**
+     * 요약 정보 컬럼이 추가되기 이전에 저장된 모델들의 요약 정보를 채운다.
+     * 해당 모델이 없는 경우에는 ID 조회 외에는 아무것도 하지 않는다.
+     */
+    private void fillMissingSummaries() {
+    	List<String> ids = m_repo.findModelIdAllWithoutSummary();
+    	for ( String id: ids ) {
+    		m_repo.findByModelId(id).ifPresent(this::toWorkflowModel);
+    	}
+    	if ( !ids.isEmpty() ) {
+    		s_logger.info("filled WorkflowModel summaries: count={}", ids.size());
+    	}
+    }
+    
+    private static final String FILL_ACTIVATIONS_SQL = """
+    		INSERT INTO workflow_model_activations (row_id, model_id, version_hash, activated_at)
+    		SELECT nextval('workflow_model_activations_seq'), id, version_hash, COALESCE(updated_at, now())
+    		FROM workflow_models
+    		WHERE version_hash IS NOT NULL
+    		""";
+    /**
+     * 버전 변경 기록 테이블이 추가되기 이전에 저장된 모델들의 현재 버전을 기록한다.
+     * 기록 테이블이 비어 있는 경우에만 수행되며, 이전의 버전 변경은 알 수 없으므로
+     * 모델별 현재 버전만 기록된다.
+     */
+    private void fillActivationLog() {
+    	if ( m_activationRepo.count() > 0 || m_repo.count() == 0 ) {
+    		return;
+    	}
+    	
+    	int count = m_jdbc.update(FILL_ACTIVATIONS_SQL);
+    	s_logger.info("filled WorkflowModel activation log: count={}", count);
+    }
+    
+    /**
+     * 역색인 테이블이 추가되기 이전에 저장된 모델들의 참조를 기록한다.
+     * 역색인 테이블이 비어 있는 경우에만 모든 모델을 페이지 단위로 읽어 기록한다.
+     */
+    private void fillReferenceIndex() {
+    	if ( m_refRepo.count() > 0 || m_repo.count() == 0 ) {
+    		return;
+    	}
+    	
+    	int count = 0;
+    	String cursor = null;
+    	while ( true ) {
+    		List<WorkflowModel> page = getWorkflowModelPage(cursor, EXPORT_PAGE_SIZE);
+    		m_tx.executeWithoutResult(status -> saveReferences(page));
+    		count += page.size();
+    		
+    		if ( page.size() < EXPORT_PAGE_SIZE ) {
+    			break;
+    		}
+    		cursor = page.get(page.size()-1).getId();
+    	}
+    	s_logger.info("filled WorkflowModel reference index: count={}", count);
+    }
+    
+    private boolean isPostgreSQL() {
+    	try ( Connection conn = m_dataSource.getConnection() ) {
+    		return "PostgreSQL".equalsIgnoreCase(conn.getMetaData().getDatabaseProductName());
+    	}
+    	catch ( SQLException e ) {
+    		s_logger.warn("failed to check DB product: cause={}", "" + e);
+    		return false;
+    	}
     }
 
 	private static final YAMLFactory YAML_FACTORY = new YAMLFactory().disable(Feature.WRITE_DOC_START_MARKER);
@@ -1,24 +1,42 @@
 package mdt.workflow.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
 import lombok.RequiredArgsConstructor;
 
 import utils.Throwables;
 import utils.func.Try;
 import utils.func.Unchecked;
 
+import mdt.model.MDTModelSerDe;
 import mdt.model.ResourceAlreadyExistsException;
 import mdt.model.ResourceNotFoundException;
 import mdt.workflow.Workflow;
 import mdt.workflow.WorkflowInstanceManagerProvider;
 import mdt.workflow.WorkflowManager;
 import mdt.workflow.WorkflowModel;
-import mdt.workflow.WorkflowModelManager;
 import mdt.workflow.WorkflowStatus;
+import mdt.workflow.config.WorkflowModelManagerConfiguration;
+import mdt.workflow.domain.WorkflowModelImportResult;
+import mdt.workflow.domain.WorkflowModelReference;
+import mdt.workflow.domain.WorkflowModelSummary;
+import mdt.workflow.domain.TaskDurationStats;
+import mdt.workflow.domain.WorkflowModelVersionInfo;
 
 /**
  *
@@ -27,14 +45,62 @@ import mdt.workflow.WorkflowStatus;
 @Service
 @RequiredArgsConstructor
 public class MDTWorkflowManager implements WorkflowManager {
-	private final WorkflowModelManager m_modelManager;
+	private final JpaWorkflowModelManager m_modelManager;
 	private final WorkflowInstanceManagerProvider m_instanceManager;
+	private final WorkflowModelManagerConfiguration m_modelConf;
+	private final WorkflowHistoryManager m_history;
+	private final TaskDurationStatsManager m_durationStats;
 	
 	@Override
 	public List<WorkflowModel> getWorkflowModelAll() {
 		return m_modelManager.getWorkflowModelAll();
 	}
 	
+	/**
+	 * 주어진 식별자 다음의 워크플로우 모델들을 식별자 순서로 최대 {@code limit}개 반환한다.
+	 * 
+	 * @see JpaWorkflowModelManager#getWorkflowModelPage(String, int)
+	 */
+	public List<WorkflowModel> getWorkflowModelPage(@Nullable String after, int limit) {
+		return m_modelManager.getWorkflowModelPage(after, limit);
+	}
+	
+	/**
+	 * 등록된 모든 워크플로우 모델의 요약 정보를 반환한다.
+	 * 
+	 * @see JpaWorkflowModelManager#getWorkflowModelSummaryAll()
+	 */
+	public List<WorkflowModelSummary> getWorkflowModelSummaryAll() {
+		return m_modelManager.getWorkflowModelSummaryAll();
+	}
+	
+	/**
+	 * 주어진 대상을 참조하는 워크플로우 모델들의 식별자를 반환한다.
+	 * 
+	 * @see JpaWorkflowModelManager#findWorkflowModelIdsByReference(WorkflowModelReference.Kind, String)
+	 */
+	public List<String> findWorkflowModelIdsByReference(WorkflowModelReference.Kind kind, String ref) {
+		return m_modelManager.findWorkflowModelIdsByReference(kind, ref);
+	}
+	
+	/**
+	 * 주어진 워크플로우 모델의 모든 버전 정보를 최근 버전부터 반환한다.
+	 * 
+	 * @see JpaWorkflowModelManager#getWorkflowModelVersions(String)
+	 */
+	public List<WorkflowModelVersionInfo> getWorkflowModelVersions(String wfModelId) {
+		return m_modelManager.getWorkflowModelVersions(wfModelId);
+	}
+	
+	/**
+	 * 주어진 내용 해시에 해당하는 워크플로우 모델 버전을 반환한다.
+	 * 
+	 * @see JpaWorkflowModelManager#getWorkflowModelVersion(String)
+	 */
+	public WorkflowModel getWorkflowModelVersion(String versionHash) throws ResourceNotFoundException {
+		return m_modelManager.getWorkflowModelVersion(versionHash);
+	}
+	
 	@Override
 	public WorkflowModel getWorkflowModel(String wfModelId) throws ResourceNotFoundException {
 		return m_modelManager.getWorkflowModel(wfModelId);
@@ -70,10 +136,94 @@ public class MDTWorkflowManager implements WorkflowManager {
 		}
 	}
 	
+	/**
+	 * JSON 배열 또는 NDJSON 형식으로 주어진 워크플로우 모델들을 일괄 등록한다.
+	 * <p>
+	 * 모델들은 설정된 batch 크기만큼씩 읽혀 하나의 JDBC batch로 저장되며, 저장된 모델들에 대한
+	 * 워크플로우 백엔드 등록 ({@link WorkflowInstanceManagerProvider#onWorkflowModelAdded(WorkflowModel)})은
+	 * 동시에 수행된다. 백엔드 등록에 실패한 모델은 단건 등록과 마찬가지로 다시 제거된다.
+	 * 입력 중간에 파싱할 수 없는 모델이 있는 경우에는 그 이전 batch까지만 등록된다.
+	 * 
+	 * @param in		모델들을 읽을 입력 스트림.
+	 * @param replace	같은 식별자의 모델이 이미 있는 경우 교체할지 여부. false이면 무시된다.
+	 * @return	모델별 등록 결과 목록 (입력 순서).
+	 * @throws IOException	입력을 읽는데 실패한 경우.
+	 */
+	public List<WorkflowModelImportResult> importWorkflowModels(InputStream in, boolean replace)
+		throws IOException {
+		int batchSize = Math.max(1, m_modelConf.getImportBatchSize());
+		
+		List<WorkflowModelImportResult> results = Lists.newArrayList();
+		try ( FanOutExecutor fanOut = new FanOutExecutor(Math.max(1, m_modelConf.getImportConcurrency()));
+			MappingIterator<WorkflowModel> iter = MDTModelSerDe.getJsonMapper()
+																.readerFor(WorkflowModel.class)
+																.readValues(in) ) {
+			List<WorkflowModel> batch = Lists.newArrayListWithCapacity(batchSize);
+			while ( true ) {
+				WorkflowModel wfModel = nextModel(iter, results.size() + batch.size());
+				if ( wfModel != null ) {
+					batch.add(wfModel);
+				}
+				if ( batch.size() == batchSize || (wfModel == null && !batch.isEmpty()) ) {
+					results.addAll(importBatch(batch, replace, fanOut));
+					batch.clear();
+				}
+				if ( wfModel == null ) {
+					return results;
+				}
+			}
+		}
+	}
+	
+	private @Nullable WorkflowModel nextModel(MappingIterator<WorkflowModel> iter, int index) {
+		try {
+			if ( !iter.hasNextValue() ) {
+				return null;
+			}
+			WorkflowModel wfModel = iter.nextValue();
+			Preconditions.checkArgument(wfModel.getId() != null, "WorkflowModel id is missing: index=%s", index);
+			return wfModel;
+		}
+		catch ( IOException e ) {
+			throw new IllegalArgumentException("invalid WorkflowModel: index=" + index + ", cause=" + e, e);
+		}
+	}
+	
+	private List<WorkflowModelImportResult> importBatch(List<WorkflowModel> batch, boolean replace,
+														FanOutExecutor fanOut) {
+		boolean[] stored = m_modelManager.addWorkflowModelBatch(batch, replace);
+		
+		List<Integer> indexes = IntStream.range(0, batch.size()).boxed().toList();
+		return fanOut.map(indexes, idx -> {
+			WorkflowModel wfModel = batch.get(idx);
+			if ( !stored[idx] ) {
+				return WorkflowModelImportResult.skipped(wfModel.getId());
+			}
+			try {
+				m_instanceManager.onWorkflowModelAdded(wfModel);
+				return WorkflowModelImportResult.imported(wfModel.getId());
+			}
+			catch ( Throwable e ) {
+				Try.run(() -> m_modelManager.removeWorkflowModel(wfModel.getId()));
+				return WorkflowModelImportResult.failed(wfModel.getId(), Throwables.unwrapThrowable(e));
+			}
+		});
+	}
+	
+	/**
+	 * 등록된 모든 워크플로우 모델을 NDJSON 형식으로 출력한다.
+	 * 
+	 * @see JpaWorkflowModelManager#exportWorkflowModels(OutputStream)
+	 */
+	public int exportWorkflowModels(OutputStream out) throws IOException {
+		return m_modelManager.exportWorkflowModels(out);
+	}
+	
 	@Override
 	public void removeWorkflowModel(String wfModelId) throws ResourceNotFoundException {
 		m_modelManager.removeWorkflowModel(wfModelId);
 		Unchecked.acceptOrIgnore(wfModelId, m_instanceManager::onWorkflowModelRemoved);
+		Unchecked.acceptOrIgnore(wfModelId, m_durationStats::removeTaskStats);
 	}
 	
 	@Override
@@ -85,6 +235,15 @@ public class MDTWorkflowManager implements WorkflowManager {
 		return m_instanceManager.getWorkflowScript(wfModelId);
 	}
 	
+	/**
+	 * 등록된 모든 워크플로우 모델에 대한 워크플로우 스크립트를 다시 생성한다.
+	 * 
+	 * @return	스크립트 내용이 실제로 변경된 모델의 수.
+	 */
+	public int regenerateWorkflowScriptAll() {
+		return m_instanceManager.regenerateWorkflowScripts(m_modelManager.getWorkflowModelAll());
+	}
+	
 	@Override
 	public List<Workflow> getWorkflowAll() {
 		return m_instanceManager.getWorkflowAll();
@@ -102,7 +261,73 @@ public class MDTWorkflowManager implements WorkflowManager {
 	
 	@Override
 	public Workflow getWorkflow(String wfId) throws ResourceNotFoundException {
-		return m_instanceManager.getWorkflow(wfId);
+		// 종료된 워크플로우는 변경되지 않으므로 이력에 저장된 경우에는 백엔드에 묻지 않는다.
+		Optional<Workflow> recorded = m_history.findWorkflow(wfId);
+		if ( recorded.isPresent() ) {
+			return recorded.get();
+		}
+		
+		Workflow wf = m_instanceManager.getWorkflow(wfId);
+		Try.run(() -> m_history.record(wf));
+		return wf;
+	}
+	
+	/**
+	 * 이력에 저장된 종료 워크플로우들 중에서 주어진 조건을 만족하는 것들을 최근에 종료된 것부터 반환한다.
+	 * 
+	 * @see WorkflowHistoryManager#findWorkflows(String, WorkflowStatus, LocalDateTime, LocalDateTime, int)
+	 */
+	public List<Workflow> getWorkflowHistory(@Nullable String wfModelId, @Nullable WorkflowStatus status,
+											@Nullable LocalDateTime from, @Nullable LocalDateTime to, int limit) {
+		return m_history.findWorkflows(wfModelId, status, from, to, limit);
+	}
+	
+	/**
+	 * 주어진 워크플로우 모델에 포함된 task들의 수행 시간 통계를 반환한다.
+	 * 
+	 * @see TaskDurationStatsManager#getTaskStats(String)
+	 */
+	public List<TaskDurationStats> getTaskDurationStats(@Nullable String wfModelId) {
+		return m_durationStats.getTaskStats(wfModelId);
+	}
+	
+	/**
+	 * 모든 서브모델의 수행 시간 통계를 반환한다.
+	 * 
+	 * @see TaskDurationStatsManager#getSubmodelStatsAll()
+	 */
+	public List<TaskDurationStats> getSubmodelDurationStatsAll() {
+		return m_durationStats.getSubmodelStatsAll();
+	}
+	
+	/**
+	 * 주어진 서브모델의 수행 시간 통계를 반환한다.
+	 * 
+	 * @param smRef	서브모델 참조 ('인스턴스 식별자:서브모델 idShort').
+	 * @return	수행 시간 통계.
+	 * @throws ResourceNotFoundException	수집된 표본이 없는 경우.
+	 */
+	public TaskDurationStats getSubmodelDurationStats(String smRef) throws ResourceNotFoundException {
+		return m_durationStats.getSubmodelStats(smRef)
+					.orElseThrow(() -> new ResourceNotFoundException("TaskDurationStats", "submodel=" + smRef));
+	}
+	
+	/**
+	 * 주어진 서브모델의 수행 시간을 로컬 통계로 예측한다.
+	 * 
+	 * @see TaskDurationStatsManager#estimateExecutionTime(String)
+	 */
+	public Optional<Double> estimateExecutionTime(String smRef) {
+		return m_durationStats.estimateExecutionTime(smRef);
+	}
+	
+	/**
+	 * 수행 시간 통계를 이력에 저장된 모든 워크플로우로부터 다시 계산한다.
+	 * 
+	 * @see WorkflowHistoryManager#rebuildDurationStats()
+	 */
+	public int rebuildDurationStats() {
+		return m_history.rebuildDurationStats();
 	}
 	
 	@Override
@@ -115,6 +340,10 @@ public class MDTWorkflowManager implements WorkflowManager {
 		m_instanceManager.stopWorkflow(wfId);
 	}
 	
+	public void stopWorkflowAll(List<String> wfIds) throws ResourceNotFoundException {
+		m_instanceManager.stopWorkflowAll(wfIds);
+	}
+	
 	@Override
 	public Workflow suspendWorkflow(String wfId) throws ResourceNotFoundException {
 		return m_instanceManager.suspendWorkflow(wfId);
@@ -128,15 +357,29 @@ public class MDTWorkflowManager implements WorkflowManager {
 	@Override
 	public void removeWorkflow(String wfId) throws ResourceNotFoundException {
 		m_instanceManager.removeWorkflow(wfId);
+		Unchecked.acceptOrIgnore(wfId, m_history::remove);
 	}
 	
 	@Override
 	public void removeWorkflowAll() {
+		// 이력은 백엔드에서 이미 제거된 워크플로우들도 포함하므로, 이번에 제거되는 워크플로우들의 이력만 삭제한다.
+		List<String> wfIds = m_instanceManager.listWorkflowIds();
 		m_instanceManager.removeWorkflowAll();
+		Unchecked.acceptOrIgnore(wfIds, m_history::removeAll);
 	}
 	
 	@Override
 	public String getWorkflowLog(String wfId, String podName) throws ResourceNotFoundException {
 		return m_instanceManager.getWorkflowLog(wfId, podName);
 	}
+	
+	/**
+	 * 주어진 워크플로우 인스턴스에 포함된 task의 로그를 주어진 {@link Writer}로 출력한다.
+	 * 
+	 * @see WorkflowInstanceManagerProvider#streamTaskLog(String, String, Integer, Integer, boolean, Writer)
+	 */
+	public void streamTaskLog(String wfId, String taskId, @Nullable Integer tryNumber, @Nullable Integer tail,
+								boolean follow, Writer writer) throws ResourceNotFoundException, IOException {
+		m_instanceManager.streamTaskLog(wfId, taskId, tryNumber, tail, follow, writer);
+	}
 }
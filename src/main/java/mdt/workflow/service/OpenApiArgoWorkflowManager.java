@@ -1,11 +1,20 @@
 package mdt.workflow.service;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.openapitools.client.ApiClient;
 import org.openapitools.client.ApiException;
 import org.openapitools.client.api.WorkflowServiceApi;
@@ -15,14 +24,22 @@ import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1WorkflowList;
 import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1WorkflowResumeRequest;
 import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1WorkflowStopRequest;
 import org.openapitools.client.model.IoArgoprojWorkflowV1alpha1WorkflowSuspendRequest;
-import org.openapitools.client.model.StreamResultOfIoArgoprojWorkflowV1alpha1LogEntry;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator.Feature;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import okhttp3.Call;
+import okhttp3.Response;
 
 import lombok.RequiredArgsConstructor;
 
@@ -40,6 +57,7 @@ import mdt.workflow.WorkflowInstanceManagerProvider;
 import mdt.workflow.WorkflowModel;
 import mdt.workflow.WorkflowStatus;
 import mdt.workflow.argo.ArgoUtils;
+import mdt.workflow.argo.ArgoUtils.TaskContainer;
 import mdt.workflow.argo.ArgoWorkflowDescriptor;
 import mdt.workflow.config.ArgoWorkflowManagerConfiguration;
 import mdt.workflow.model.TaskDescriptor;
@@ -59,11 +77,18 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 	private static final IoArgoprojWorkflowV1alpha1WorkflowResumeRequest RESUME_REQUEST
 															= new IoArgoprojWorkflowV1alpha1WorkflowResumeRequest();
 	
+	private static final Set<String> TERMINAL_PHASES = Set.of("Succeeded", "Failed", "Error");
+	
 	private final JpaWorkflowModelManager m_wfModelManager;
 	private final ArgoWorkflowManagerConfiguration m_conf;
+	private final ObjectProvider<MeterRegistry> m_meterRegistry;
 	
 	private String m_namespace;
 	private WorkflowServiceApi m_wfApi;
+	private ResponseCache<IoArgoprojWorkflowV1alpha1Workflow> m_wfCache;
+	// 모델 버전 해시별로 생성된 Argo 워크플로우 명세 (JSON, YAML). 버전은 변경되지 않으므로 만료시키지 않는다.
+	private ResponseCache<String> m_specCache;
+	private ResponseCache<String> m_scriptCache;
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -72,6 +97,15 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 	    ApiClient client = new ApiClient(OkHttpClientUtils.newTrustAllOkHttpClient());
 	    client.setBasePath(m_conf.getArgoEndpoint());
 	    m_wfApi = new WorkflowServiceApi(client);
+	    
+	    m_wfCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+	    m_specCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+	    m_scriptCache = new ResponseCache<>(m_conf.getCacheMaxEntries());
+	    m_meterRegistry.ifAvailable(registry -> {
+	    	m_wfCache.bindTo(registry, "argo");
+	    	m_specCache.bindTo(registry, "argo-spec");
+	    	m_scriptCache.bindTo(registry, "argo-script");
+	    });
 	}
 
 	@Override
@@ -83,7 +117,7 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 			
 			return FStream.from(wfList.getItems())
 							.filter(argoWf -> !wfList.getItems().get(0).getSpec().getTemplates().isEmpty())
-							.filter(argoWf -> argoWf.getSpec().getTemplates().get(0).getDag() != null)
+							.filter(argoWf -> ArgoUtils.isMDTWorkflow(argoWf))
 							.map(argoWf -> argoWf.getMetadata().getName())
 							.toList();
 		}
@@ -92,12 +126,46 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 		}
 	}
 
+	private static final String COMPLETED_LABEL_SELECTOR = "workflows.argoproj.io/completed=true";
+	// 종료된 워크플로우 목록에는 task 정보 (status.nodes)가 필요하지 않다.
+	private static final String FINISHED_LIST_FIELDS
+									= "items.metadata.name,items.spec.templates,items.status.phase,items.status.finishedAt";
+	
 	@Override
-	public WorkflowStatus getWorkflowStatus(String wfId) throws ResourceNotFoundException {
+	public Map<String,LocalDateTime> listFinishedWorkflows(@Nullable LocalDateTime finishedSince) {
 		try {
-			IoArgoprojWorkflowV1alpha1Workflow argoWf =
-					m_wfApi.workflowServiceGetWorkflow(m_namespace, wfId, null, null);
+			IoArgoprojWorkflowV1alpha1WorkflowList wfList
+							= m_wfApi.workflowServiceListWorkflows(m_namespace, COMPLETED_LABEL_SELECTOR, null,
+																	null, null, null, null, null, null, null,
+																	null, FINISHED_LIST_FIELDS, null);
+			if ( wfList.getItems() == null ) {
+				return Collections.emptyMap();
+			}
+			
+			Map<String,LocalDateTime> finisheds = Maps.newLinkedHashMap();
+			for ( IoArgoprojWorkflowV1alpha1Workflow argoWf: wfList.getItems() ) {
+				WorkflowStatus status = ArgoUtils.toWorkflowStatus(argoWf.getStatus().getPhase());
+				if ( (status != WorkflowStatus.COMPLETED && status != WorkflowStatus.FAILED)
+					|| argoWf.getStatus().getFinishedAt() == null || !ArgoUtils.isMDTWorkflow(argoWf) ) {
+					continue;
+				}
+				
+				LocalDateTime finished = argoWf.getStatus().getFinishedAt().toLocalDateTime();
+				if ( finishedSince == null || !finished.isBefore(finishedSince) ) {
+					finisheds.put(argoWf.getMetadata().getName(), finished);
+				}
+			}
+			return finisheds;
+		}
+		catch ( ApiException e ) {
+			throw toMDTWorkflowManagerException(e, "fails to get finished workflow list");
+		}
+	}
 
+	@Override
+	public WorkflowStatus getWorkflowStatus(String wfId) throws ResourceNotFoundException {
+		try {
+			IoArgoprojWorkflowV1alpha1Workflow argoWf = getArgoWorkflow(wfId);
 			return ArgoUtils.toWorkflowStatus(argoWf.getStatus().getPhase());
 		}
 		catch ( ApiException e ) {
@@ -120,9 +188,9 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 					
 							.filter(argoWf -> !wfList.getItems().get(0).getSpec().getTemplates().isEmpty())
 					
-							// 가끔 dag가 정의되지 않는 workflow가 존재하고,
+							// 가끔 dag (또는 containerSet)가 정의되지 않는 workflow가 존재하고,
 							// 이런 경우 제외시킨다.
-							.filter(argoWf -> argoWf.getSpec().getTemplates().get(0).getDag() != null)
+							.filter(argoWf -> ArgoUtils.isMDTWorkflow(argoWf))
 							.map(this::toWorkflowInstance)
 							.castSafely(Workflow.class)
 							.toList();
@@ -135,8 +203,7 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 	@Override
 	public Workflow getWorkflow(String wfId) {
 		try {
-			IoArgoprojWorkflowV1alpha1Workflow argoWf =
-					m_wfApi.workflowServiceGetWorkflow(m_namespace, wfId, null, null);
+			IoArgoprojWorkflowV1alpha1Workflow argoWf = getArgoWorkflow(wfId);
 			return toWorkflowInstance(argoWf);
 		}
 		catch ( ApiException e ) {
@@ -152,6 +219,7 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 	public void removeWorkflow(String wfId) {
 		try {
 			m_wfApi.workflowServiceDeleteWorkflow(m_namespace, wfId, null, null, null, null, null, null, null);
+			m_wfCache.invalidate(wfId);
 		}
 		catch ( ApiException e ) {
 			throw toMDTWorkflowManagerException(e, "fails to remove workflow: name=" + wfId);
@@ -170,6 +238,7 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 					String wfName = wf.getMetadata().getName();
 					m_wfApi.workflowServiceDeleteWorkflow(namespace, wfName, null, null, null, null, null, null, null);
 				});
+			m_wfCache.invalidateAll();
 		}
 		catch ( ApiException e ) {
 			throw toMDTWorkflowManagerException(e, "fails to remove workflow all");
@@ -181,12 +250,11 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 		Preconditions.checkArgument(wfModelId != null, "WorkflowModel id is null");
 		
 		try {
-			WorkflowModel wfModel = m_wfModelManager.getWorkflowModel(wfModelId);
-			
-			// MDT Workflow 모델을 Argo Workflow로 변환하고 Json으로 변환한다.
-			ArgoWorkflowDescriptor argoWfDesc = new ArgoWorkflowDescriptor(wfModel, m_conf.getMdtUrl(),
-																			m_conf.getClientDockerImage());
-			String wfSpecJson = MDTModelSerDe.getJsonMapper().writeValueAsString(argoWfDesc);
+			// 현재 모델 버전에 해당하는 Argo Workflow 명세를 얻는다.
+			// 명세에는 생성에 사용된 모델 버전이 annotation으로 기록되어 있다.
+			String version = m_wfModelManager.getCurrentVersion(wfModelId);
+			String wfSpecJson = m_specCache.get(version, Duration.ZERO, spec -> true,
+												etag -> ResponseCache.Loaded.of(toArgoSpecJson(version), null));
 			
 			// Argo Workflow 생성 요청 메시지를 생성한다.
 			IoArgoprojWorkflowV1alpha1Workflow argoJson = IoArgoprojWorkflowV1alpha1Workflow.fromJson(wfSpecJson);
@@ -206,17 +274,26 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 	public void stopWorkflow(String wfId) throws ResourceNotFoundException {
 		try {
 			m_wfApi.workflowServiceStopWorkflow(m_namespace, wfId, STOP_REQUEST);
+			m_wfCache.invalidate(wfId);
 		}
 		catch ( ApiException e ) {
 			throw toMDTWorkflowManagerException(e, "fails to stop workflow: name=" + wfId);
 		}
 	}
 
+	@Override
+	public void stopWorkflowAll(List<String> wfIds) throws ResourceNotFoundException {
+		for ( String wfId: wfIds ) {
+			stopWorkflow(wfId);
+		}
+	}
+
 	@Override
 	public Workflow suspendWorkflow(String wfId) throws ResourceNotFoundException {
 		try {
 			IoArgoprojWorkflowV1alpha1Workflow argoWf = m_wfApi.workflowServiceSuspendWorkflow(m_namespace, wfId,
 																								SUSPEND_REQUEST);
+			m_wfCache.invalidate(wfId);
 			return toWorkflowInstance(argoWf);
 		}
 		catch ( ApiException e ) {
@@ -229,6 +306,7 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 		try {
 			IoArgoprojWorkflowV1alpha1Workflow argoWf = m_wfApi.workflowServiceResumeWorkflow(m_namespace, wfId,
 																								RESUME_REQUEST);
+			m_wfCache.invalidate(wfId);
 			return toWorkflowInstance(argoWf);
 		}
 		catch ( ApiException e ) {
@@ -238,31 +316,124 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 
 	@Override
 	public String getWorkflowLog(String wfId, String podName) throws ResourceNotFoundException {
+		StringWriter writer = new StringWriter();
+		try {
+			writeLogs(wfId, podName, null, null, false, writer);
+		}
+		catch ( IOException e ) {
+			throw new MDTWorkflowManagerException(
+								String.format("fails to log workflow: name=%s, pod=%s", wfId, podName), e);
+		}
+		return writer.toString();
+	}
+
+	@Override
+	public void streamTaskLog(String wfId, String taskId, @Nullable Integer tryNumber, @Nullable Integer tail,
+								boolean follow, Writer writer) throws ResourceNotFoundException, IOException {
+		IoArgoprojWorkflowV1alpha1Workflow argoWf;
 		try {
-			podName = "thickness-simulation-long-sv4pj-1226849899";
-			StreamResultOfIoArgoprojWorkflowV1alpha1LogEntry logEntry
-								= m_wfApi.workflowServiceWorkflowLogs(m_namespace, wfId, null, null, null, null,
-																	null, null, null, null, null, null, null, null, null);
-			return logEntry.getResult().getContent();
+			argoWf = getArgoWorkflow(wfId);
+		}
+		catch ( ApiException e ) {
+			switch ( e.getCode() ) {
+				case 404:
+					throw new ResourceNotFoundException("Workflow", "name=" + wfId);
+			}
+			throw toMDTWorkflowManagerException(e, "fails to get workflow: name=" + wfId);
+		}
+		
+		TaskContainer tc = ArgoUtils.findTaskContainer(argoWf, taskId, tryNumber);
+		writeLogs(wfId, tc.podName(), tc.container(), tail, follow, writer);
+	}
+	
+	/**
+	 * Argo 워크플로우 로그 API를 호출하여 주어진 pod (컨테이너)의 로그를 출력한다.
+	 * <p>
+	 * Argo 서버는 로그를 한 줄에 하나의 {@code StreamResult} JSON 객체로 구성된 스트림으로 전송하므로,
+	 * 생성된 client의 deserializer 대신 응답을 한 줄씩 읽어 바로 출력한다. 따라서 {@code follow}가
+	 * 설정된 경우에도 컨테이너가 종료될 때까지 로그가 수신되는 대로 출력된다.
+	 */
+	private void writeLogs(String wfId, String podName, @Nullable String container, @Nullable Integer tail,
+							boolean follow, Writer writer) throws ResourceNotFoundException, IOException {
+		String tailLines = (tail != null) ? String.valueOf(tail) : null;
+		Call call;
+		try {
+			call = m_wfApi.workflowServiceWorkflowLogsCall(m_namespace, wfId, podName, container, follow, null,
+															null, null, null, null, tailLines, null, null, null, null,
+															null);
 		}
 		catch ( ApiException e ) {
 			throw toMDTWorkflowManagerException(e,
 										String.format("fails to log workflow: name=%s, pod=%s", wfId, podName));
 		}
+		
+		try ( Response resp = call.execute() ) {
+			if ( resp.code() == 404 ) {
+				throw new ResourceNotFoundException("Workflow", String.format("name=%s, pod=%s", wfId, podName));
+			}
+			else if ( !resp.isSuccessful() ) {
+				throw new MDTWorkflowManagerException(
+								String.format("fails to log workflow: name=%s, pod=%s, code=%d",
+												wfId, podName, resp.code()),
+								new IOException(resp.body().string()));
+			}
+			
+			ObjectMapper mapper = MDTModelSerDe.getJsonMapper();
+			try ( BufferedReader reader = new BufferedReader(resp.body().charStream()) ) {
+				String line;
+				while ( (line = reader.readLine()) != null ) {
+					if ( line.isBlank() ) {
+						continue;
+					}
+					JsonNode entry = mapper.readTree(line);
+					JsonNode error = entry.path("error");
+					if ( !error.isMissingNode() && !error.isNull() ) {
+						throw new MDTWorkflowManagerException(
+										String.format("fails to log workflow: name=%s, pod=%s", wfId, podName),
+										new IOException(error.path("message").asText(error.toString())));
+					}
+					
+					writer.write(entry.path("result").path("content").asText(""));
+					writer.write('\n');
+					if ( follow ) {
+						writer.flush();
+					}
+				}
+			}
+			writer.flush();
+		}
 	}
 
 	private static final YAMLFactory YAML_FACTORY = new YAMLFactory().disable(Feature.WRITE_DOC_START_MARKER);
 	@Override
 	public String getWorkflowScript(String wfModelId)
 		throws ResourceNotFoundException {
-		WorkflowModel wfModel = m_wfModelManager.getWorkflowModel(wfModelId);
-		
+		String version = m_wfModelManager.getCurrentVersion(wfModelId);
+		return m_scriptCache.get(version, Duration.ZERO, script -> true,
+								etag -> ResponseCache.Loaded.of(toArgoScript(version), null));
+	}
+	
+	private ArgoWorkflowDescriptor toArgoWorkflowDescriptor(String version) {
+		WorkflowModel wfModel = m_wfModelManager.getWorkflowModelVersion(version);
+		return new ArgoWorkflowDescriptor(wfModel, m_conf.getMdtUrl(), m_conf.getClientDockerImage(),
+											m_conf.getContainerSetMaxTasks())
+						.withModelVersion(version);
+	}
+	
+	private String toArgoSpecJson(String version) {
+		try {
+			return MDTModelSerDe.getJsonMapper().writeValueAsString(toArgoWorkflowDescriptor(version));
+		}
+		catch ( JsonProcessingException e ) {
+			throw new MDTWorkflowManagerException("fails to generate workflow spec: version=" + version, e);
+		}
+	}
+	
+	private String toArgoScript(String version) {
 		try {
-			ArgoWorkflowDescriptor argoWfDesc = new ArgoWorkflowDescriptor(wfModel, m_conf.getMdtUrl(),
-																			m_conf.getClientDockerImage());
 			return JsonMapper.builder(YAML_FACTORY).build()
 											.writerWithDefaultPrettyPrinter()
-											.writeValueAsString(argoWfDesc);
+											.writeValueAsString(toArgoWorkflowDescriptor(version));
 		}
 		catch ( JsonProcessingException e ) {
 			throw new MDTWorkflowManagerException("fails to generate workflow script", e);
@@ -274,6 +445,12 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
 
 	@Override
 	public void onWorkflowModelRemoved(String wfModelId) throws MDTWorkflowInstanceManagerException { }
+
+	@Override
+	public int regenerateWorkflowScripts(List<WorkflowModel> wfModels) throws MDTWorkflowInstanceManagerException {
+		// Argo 워크플로우 스크립트는 워크플로우 시작시마다 생성되므로 미리 생성해 둘 것이 없다.
+		return 0;
+	}
 	
 	@Override
 	public String toString() {
@@ -282,6 +459,44 @@ public class OpenApiArgoWorkflowManager implements WorkflowInstanceManagerProvid
         						m_conf.getMdtUrl(), m_conf.getClientDockerImage());
 	}
 	
+	/**
+	 * 주어진 이름의 Argo 워크플로우를 응답 캐쉬를 통해 읽는다.
+	 * <p>
+	 * 종료된 워크플로우는 더 이상 변경되지 않으므로 캐쉬에서 만료시키지 않는다.
+	 * Argo client는 ETag를 제공하지 않기 때문에 TTL만을 사용한다.
+	 */
+	private IoArgoprojWorkflowV1alpha1Workflow getArgoWorkflow(String wfId) throws ApiException {
+		try {
+			return m_wfCache.get(wfId, m_conf.getWorkflowCacheTtl(),
+								argoWf -> argoWf.getStatus() != null
+											&& TERMINAL_PHASES.contains(argoWf.getStatus().getPhase()),
+								etag -> {
+									try {
+										var argoWf = m_wfApi.workflowServiceGetWorkflow(m_namespace, wfId, null, null);
+										return ResponseCache.Loaded.of(argoWf, null);
+									}
+									catch ( ApiException e ) {
+										throw new UncheckedApiException(e);
+									}
+								});
+		}
+		catch ( UncheckedApiException e ) {
+			throw e.getApiException();
+		}
+	}
+	
+	private static final class UncheckedApiException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		
+		UncheckedApiException(ApiException cause) {
+			super(cause);
+		}
+		
+		ApiException getApiException() {
+			return (ApiException)getCause();
+		}
+	}
+	
 	private Workflow toWorkflowInstance(IoArgoprojWorkflowV1alpha1Workflow argoWf) {
 		String modelId = Split.splitLast(argoWf.getMetadata().getName(), "-").head();
 
@@ -0,0 +1,132 @@
+package mdt.workflow.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * PostgreSQL {@code LISTEN/NOTIFY} 채널로 전달되는 통보를 수신하는 리스너.
+ * <p>
+ * 별도의 daemon thread가 connection pool을 거치지 않고 직접 생성한 전용 연결로 채널을 수신하며,
+ * 수신된 통보의 payload를 {@code onNotification}으로 전달한다. 전용 연결을 사용하므로 pool의 연결을
+ * 점유하지 않으며, {@code LISTEN} 상태가 pool의 다른 사용자에게 전달되지도 않는다. 연결이 끊어진 경우에는
+ * 지정된 간격으로 재연결을 시도하며, 연결이 끊어진 동안의 통보는 유실되므로 (재)연결될 때마다
+ * {@code onReconnect}가 호출된다.
+ * <p>
+ * DB가 PostgreSQL이 아닌 경우에는 리스너는 아무것도 수신하지 않고 종료된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class PgNotificationListener implements AutoCloseable {
+	private static final Logger s_logger = LoggerFactory.getLogger(PgNotificationListener.class);
+	private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+	private final String m_jdbcUrl;
+	private final @Nullable String m_user;
+	private final @Nullable String m_password;
+	private final String m_channel;
+	private final Duration m_retryInterval;
+	private final Consumer<String> m_onNotification;
+	private final Runnable m_onReconnect;
+	private final Thread m_thread;
+	private volatile boolean m_closed = false;
+
+	/**
+	 * 리스너를 생성하고 수신 thread를 시작시킨다.
+	 *
+	 * @param jdbcUrl			전용 연결을 생성할 JDBC URL.
+	 * @param user				DB 사용자. 지정하지 않는 경우는 {@code null}.
+	 * @param password			DB 사용자 암호. 지정하지 않는 경우는 {@code null}.
+	 * @param channel			수신할 채널 이름.
+	 * @param retryInterval		재연결 대기 시간.
+	 * @param onNotification	통보 payload를 전달받을 함수.
+	 * @param onReconnect		(재)연결 후 호출될 함수.
+	 */
+	public PgNotificationListener(String jdbcUrl, @Nullable String user, @Nullable String password,
+									String channel, Duration retryInterval,
+									Consumer<String> onNotification, Runnable onReconnect) {
+		Preconditions.checkArgument(jdbcUrl != null, "JDBC url is null");
+		Preconditions.checkArgument(channel != null && channel.matches("[a-zA-Z_][a-zA-Z0-9_]*"),
+									"invalid channel name: %s", channel);
+
+		m_jdbcUrl = jdbcUrl;
+		m_user = user;
+		m_password = password;
+		m_channel = channel;
+		m_retryInterval = retryInterval;
+		m_onNotification = onNotification;
+		m_onReconnect = onReconnect;
+
+		m_thread = new Thread(this::run, "pg-listener-" + channel);
+		m_thread.setDaemon(true);
+		m_thread.start();
+	}
+
+	@Override
+	public void close() {
+		m_closed = true;
+		m_thread.interrupt();
+	}
+
+	private void run() {
+		while ( !m_closed ) {
+			try ( Connection conn = DriverManager.getConnection(m_jdbcUrl, m_user, m_password) ) {
+				if ( !conn.isWrapperFor(PGConnection.class) ) {
+					s_logger.info("DB is not PostgreSQL, stop listening: channel={}", m_channel);
+					return;
+				}
+				listen(conn, conn.unwrap(PGConnection.class));
+			}
+			catch ( SQLException e ) {
+				if ( m_closed ) {
+					return;
+				}
+				s_logger.warn("lost PostgreSQL notification channel: channel={}, cause={}", m_channel, "" + e);
+			}
+
+			try {
+				Thread.sleep(m_retryInterval.toMillis());
+			}
+			catch ( InterruptedException e ) {
+				return;
+			}
+		}
+	}
+
+	private void listen(Connection conn, PGConnection pgConn) throws SQLException {
+		conn.setAutoCommit(true);
+		try ( Statement stmt = conn.createStatement() ) {
+			stmt.execute("LISTEN " + m_channel);
+		}
+		s_logger.info("listening PostgreSQL notifications: channel={}", m_channel);
+		m_onReconnect.run();
+
+		while ( !m_closed ) {
+			PGNotification[] notis = pgConn.getNotifications(POLL_TIMEOUT_MILLIS);
+			if ( notis == null ) {
+				continue;
+			}
+			for ( PGNotification noti: notis ) {
+				try {
+					m_onNotification.accept(noti.getParameter());
+				}
+				catch ( Exception e ) {
+					s_logger.warn("failed to handle notification: channel={}, payload={}, cause={}",
+									m_channel, noti.getParameter(), "" + e);
+				}
+			}
+		}
+	}
+}
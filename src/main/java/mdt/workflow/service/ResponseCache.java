@@ -0,0 +1,239 @@
+package mdt.workflow.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.base.Preconditions;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+/**
+ * 워크플로우 백엔드(Airflow, Argo)로부터 읽은 응답을 저장하는 LRU 캐쉬.
+ * <p>
+ * 각 항목은 읽을 때 지정된 TTL 동안 유효하며, 더 이상 변경될 수 없는 응답 (예: 종료된 DagRun)은
+ * 만료되지 않는다. 백엔드가 ETag를 제공하는 경우에는 만료된 항목을 다시 읽을 때
+ * {@code If-None-Match} 조건부 요청을 사용하여, 내용이 변경되지 않은 경우 응답 본문을
+ * 다시 받지 않는다. 저장되는 항목의 수는 최대 수로 제한되며 초과시 가장 오래 사용되지 않은
+ * 항목부터 제거된다.
+ * <p>
+ * DB에서 읽어 파싱한 워크플로우 모델의 캐쉬로도 사용된다 ({@link JpaWorkflowModelManager}).
+ * <p>
+ * 항목을 읽어오는 동안 무효화 요청이 있었던 경우에는 읽은 값이 무효화 이전의 내용일 수 있으므로
+ * 반환만 하고 캐쉬에 저장하지 않는다. 이를 위해 무효화될 때마다 증가하는 세대 번호를 사용한다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+public class ResponseCache<V> {
+	private static final long NEVER_EXPIRES = Long.MAX_VALUE;
+
+	/**
+	 * 캐쉬에 없거나 만료된 항목을 백엔드로부터 읽어오는 함수.
+	 */
+	@FunctionalInterface
+	public static interface Loader<V> {
+		/**
+		 * 백엔드로부터 응답을 읽는다.
+		 *
+		 * @param etag	이전에 저장된 응답의 ETag. 조건부 요청을 사용할 수 없는 경우는 {@code null}.
+		 * @return	읽은 응답. 내용이 변경되지 않은 경우에는 {@link Loaded#notModified()}.
+		 */
+		public Loaded<V> load(@Nullable String etag);
+	}
+
+	/**
+	 * 백엔드로부터 읽은 결과.
+	 *
+	 * @param value	응답 값. 내용이 변경되지 않은 경우에는 {@code null}.
+	 * @param etag	응답의 ETag. 제공되지 않은 경우는 {@code null}.
+	 */
+	public static record Loaded<V>(@Nullable V value, @Nullable String etag) {
+		public static <V> Loaded<V> of(V value, @Nullable String etag) {
+			return new Loaded<>(value, etag);
+		}
+
+		public static <V> Loaded<V> notModified() {
+			return new Loaded<>(null, null);
+		}
+
+		public boolean isNotModified() {
+			return value == null;
+		}
+	}
+
+	private static record Entry<V>(V value, @Nullable String etag, long expiresAt) {
+		boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+
+	private final int m_maxEntries;
+	private final LinkedHashMap<String,Entry<V>> m_entries;
+	private final AtomicLong m_hits = new AtomicLong();
+	private final AtomicLong m_misses = new AtomicLong();
+	private final AtomicLong m_notModified = new AtomicLong();
+	private final AtomicLong m_evictions = new AtomicLong();
+	// 무효화될 때마다 증가하는 세대 번호. m_entries로 동기화된다.
+	private long m_generation = 0;
+
+	public ResponseCache(int maxEntries) {
+		Preconditions.checkArgument(maxEntries > 0, "invalid max entries: %s", maxEntries);
+
+		m_maxEntries = maxEntries;
+		m_entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,Entry<V>> eldest) {
+				if ( size() > m_maxEntries ) {
+					m_evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * 주어진 키에 해당하는 응답을 반환한다.
+	 * <p>
+	 * 유효한 항목이 캐쉬에 있으면 그 값을 반환하고, 그렇지 않으면 {@code loader}를 통해
+	 * 백엔드로부터 읽어 캐쉬에 저장한 후 반환한다.
+	 *
+	 * @param key			응답 키 (일반적으로 요청 URL).
+	 * @param ttl			새로 저장될 항목의 유효 기간.
+	 * @param isImmutable	응답이 더 이상 변경될 수 없는지를 판단하는 함수.
+	 * 						true로 판단된 응답은 만료되지 않는다.
+	 * @param loader		백엔드로부터 응답을 읽는 함수.
+	 * @return	응답 값.
+	 */
+	public V get(String key, Duration ttl, Predicate<? super V> isImmutable, Loader<V> loader) {
+		long now = System.currentTimeMillis();
+
+		Entry<V> entry;
+		long generation;
+		synchronized ( m_entries ) {
+			entry = m_entries.get(key);
+			generation = m_generation;
+		}
+		if ( entry != null && !entry.isExpired(now) ) {
+			m_hits.incrementAndGet();
+			return entry.value();
+		}
+		m_misses.incrementAndGet();
+
+		String etag = (entry != null) ? entry.etag() : null;
+		Loaded<V> loaded = loader.load(etag);
+
+		V value;
+		if ( loaded.isNotModified() && entry != null ) {
+			m_notModified.incrementAndGet();
+			value = entry.value();
+		}
+		else {
+			Preconditions.checkState(loaded.value() != null, "loader returned no value: key=%s", key);
+			value = loaded.value();
+			etag = loaded.etag();
+		}
+
+		long expiresAt = isImmutable.test(value) ? NEVER_EXPIRES : now + ttl.toMillis();
+		synchronized ( m_entries ) {
+			// 읽는 도중에 무효화된 경우에는 읽은 값이 이미 낡았을 수 있으므로 저장하지 않는다.
+			if ( generation == m_generation ) {
+				m_entries.put(key, new Entry<>(value, etag, expiresAt));
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * 주어진 키에 해당하는 항목을 캐쉬에서 제거한다.
+	 *
+	 * @param key	제거할 항목의 키.
+	 */
+	public void invalidate(String key) {
+		synchronized ( m_entries ) {
+			++m_generation;
+			m_entries.remove(key);
+		}
+	}
+
+	/**
+	 * 주어진 문자열로 시작하는 키를 갖는 모든 항목을 캐쉬에서 제거한다.
+	 *
+	 * @param keyPrefix	제거할 항목들의 키 prefix.
+	 */
+	public void invalidatePrefix(String keyPrefix) {
+		synchronized ( m_entries ) {
+			++m_generation;
+			Iterator<String> iter = m_entries.keySet().iterator();
+			while ( iter.hasNext() ) {
+				if ( iter.next().startsWith(keyPrefix) ) {
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized ( m_entries ) {
+			++m_generation;
+			m_entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized ( m_entries ) {
+			return m_entries.size();
+		}
+	}
+
+	public long getHitCount() {
+		return m_hits.get();
+	}
+
+	public long getMissCount() {
+		return m_misses.get();
+	}
+
+	public long getNotModifiedCount() {
+		return m_notModified.get();
+	}
+
+	public long getEvictionCount() {
+		return m_evictions.get();
+	}
+
+	/**
+	 * 캐쉬의 hit/miss 통계를 주어진 {@link MeterRegistry}에 등록한다.
+	 *
+	 * @param registry	통계를 등록할 registry.
+	 * @param name		캐쉬 이름. 메트릭의 'cache' 태그 값으로 사용된다.
+	 */
+	public void bindTo(MeterRegistry registry, String name) {
+		FunctionCounter.builder("mdt.workflow.cache.requests", this, ResponseCache::getHitCount)
+						.tags("cache", name, "result", "hit")
+						.register(registry);
+		FunctionCounter.builder("mdt.workflow.cache.requests", this, ResponseCache::getMissCount)
+						.tags("cache", name, "result", "miss")
+						.register(registry);
+		FunctionCounter.builder("mdt.workflow.cache.not-modified", this, ResponseCache::getNotModifiedCount)
+						.tags("cache", name)
+						.register(registry);
+		FunctionCounter.builder("mdt.workflow.cache.evictions", this, ResponseCache::getEvictionCount)
+						.tags("cache", name)
+						.register(registry);
+		Gauge.builder("mdt.workflow.cache.size", this, ResponseCache::size)
+				.tags("cache", name)
+				.register(registry);
+	}
+}
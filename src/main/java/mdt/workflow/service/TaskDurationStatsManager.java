@@ -0,0 +1,283 @@
+package mdt.workflow.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Maps;
+
+import lombok.RequiredArgsConstructor;
+
+import mdt.model.ResourceNotFoundException;
+import mdt.task.builtin.AASOperationTask;
+import mdt.workflow.NodeTask;
+import mdt.workflow.Workflow;
+import mdt.workflow.WorkflowModel;
+import mdt.workflow.WorkflowStatus;
+import mdt.workflow.config.WorkflowHistoryConfiguration;
+import mdt.workflow.domain.DurationSketch;
+import mdt.workflow.domain.JpaTaskDurationStats;
+import mdt.workflow.domain.TaskDurationStats;
+import mdt.workflow.domain.TaskDurationStats.Kind;
+import mdt.workflow.model.Option;
+import mdt.workflow.model.TaskDescriptor;
+import mdt.workflow.repository.JpaTaskDurationStatsRepository;
+
+
+/**
+ * 종료된 워크플로우들의 task 수행 시간을 task별, 서브모델별로 누적한 통계를 관리한다.
+ * <p>
+ * 통계는 워크플로우가 이력에 저장될 때 ({@link WorkflowHistoryManager}) 점진적으로 갱신되며,
+ * 수행 시간 분포는 병합 가능한 {@link DurationSketch}로 저장되므로 표본 수와 무관하게 일정한 크기를 갖는다.
+ * 성공적으로 종료된 task만 표본으로 사용된다. 통계 갱신은 대상 행들을 잠근 상태로 수행되므로
+ * 여러 manager 인스턴스가 같은 통계를 동시에 갱신하더라도 표본이 유실되지 않는다.
+ * <p>
+ * 서브모델별 통계의 대상은 {@link AASOperationTask}가 호출하는 연산의 서브모델
+ * ('인스턴스 식별자:서브모델 idShort')이며, 워크플로우의 현재 모델 정의로부터 얻는다.
+ * 서브모델은 task의 서브모델 참조로부터, 서브모델 참조가 없는 경우에는 'operation' 옵션 값
+ * ('인스턴스 식별자:서브모델 idShort:연산 idShortPath')의 앞 두 부분으로부터 얻는다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskDurationStatsManager implements InitializingBean {
+	private static final String OPTION_OPERATION = "operation";
+
+	private final JpaTaskDurationStatsRepository m_repo;
+	private final JpaWorkflowModelManager m_modelManager;
+	private final WorkflowHistoryConfiguration m_conf;
+	private final JdbcTemplate m_jdbc;
+	private final PlatformTransactionManager m_txManager;
+	private TransactionTemplate m_tx;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		m_tx = new TransactionTemplate(m_txManager);
+	}
+
+	/**
+	 * 주어진 워크플로우 모델에 포함된 task들의 수행 시간 통계를 반환한다.
+	 *
+	 * @param wfModelId	워크플로우 모델 식별자. {@code null}인 경우는 모든 모델.
+	 * @return	통계 목록.
+	 */
+	public List<TaskDurationStats> getTaskStats(@Nullable String wfModelId) {
+		List<JpaTaskDurationStats> stats = (wfModelId != null)
+				? m_repo.findByKindAndSubjectStartingWithOrderBySubject(Kind.TASK, toTaskSubject(wfModelId, ""))
+				: m_repo.findByKindOrderBySubject(Kind.TASK);
+		return stats.stream().map(JpaTaskDurationStats::toStats).toList();
+	}
+
+	/**
+	 * 모든 서브모델의 수행 시간 통계를 반환한다.
+	 *
+	 * @return	통계 목록.
+	 */
+	public List<TaskDurationStats> getSubmodelStatsAll() {
+		return m_repo.findByKindOrderBySubject(Kind.SUBMODEL).stream()
+					.map(JpaTaskDurationStats::toStats)
+					.toList();
+	}
+
+	/**
+	 * 주어진 서브모델의 수행 시간 통계를 반환한다.
+	 *
+	 * @param smRef	서브모델 참조 ('인스턴스 식별자:서브모델 idShort').
+	 * @return	통계. 수집된 표본이 없는 경우는 {@link Optional#empty()}.
+	 */
+	public Optional<TaskDurationStats> getSubmodelStats(String smRef) {
+		return m_repo.findById(JpaTaskDurationStats.toStatsId(Kind.SUBMODEL, smRef.trim()))
+					.map(JpaTaskDurationStats::toStats);
+	}
+
+	/**
+	 * 주어진 서브모델의 수행 시간을 로컬 통계로 예측한다.
+	 * <p>
+	 * 수집된 표본 수가 설정된 최소 표본 수
+	 * ({@link WorkflowHistoryConfiguration#getEstimationMinSamples()})보다 작은 경우에는 예측하지 않는다.
+	 *
+	 * @param smRef	서브모델 참조 ('인스턴스 식별자:서브모델 idShort').
+	 * @return	예측된 평균 수행 시간 (초). 예측할 수 없는 경우는 {@link Optional#empty()}.
+	 */
+	public Optional<Double> estimateExecutionTime(String smRef) {
+		int minSamples = m_conf.getEstimationMinSamples();
+		if ( minSamples <= 0 ) {
+			return Optional.empty();
+		}
+		return getSubmodelStats(smRef)
+					.filter(stats -> stats.count() >= minSamples)
+					.map(stats -> stats.meanMillis() / 1000.0);
+	}
+
+	/**
+	 * 주어진 종료 워크플로우들의 task 수행 시간을 통계에 반영한다.
+	 * <p>
+	 * 갱신 대상 통계 행들은 없는 경우 먼저 생성된 후 {@code SELECT ... FOR UPDATE}로 잠긴 상태에서
+	 * 병합되어 저장되므로, 다른 manager 인스턴스가 동시에 갱신한 표본이 유실되지 않는다.
+	 * 호출자의 트랜잭션이 있는 경우에는 그 트랜잭션에 참여한다.
+	 *
+	 * @param wfs	통계에 반영할 워크플로우 목록. 각 워크플로우는 한번만 반영되어야 한다.
+	 */
+	public synchronized void update(List<Workflow> wfs) {
+		Map<String,Sample> samples = Maps.newLinkedHashMap();
+		for ( Workflow wf: wfs ) {
+			Map<String,String> smRefs = getSubmodelReferences(wf.getModelId());
+			for ( NodeTask task: wf.getTasks() ) {
+				if ( task.getStatus() != WorkflowStatus.COMPLETED
+					|| task.getStartTime() == null || task.getFinishTime() == null ) {
+					continue;
+				}
+				long millis = Duration.between(task.getStartTime(), task.getFinishTime()).toMillis();
+				if ( millis < 0 ) {
+					continue;
+				}
+
+				addSample(samples, Kind.TASK, toTaskSubject(wf.getModelId(), task.getTaskId()), millis);
+				String smRef = smRefs.get(task.getTaskId());
+				if ( smRef != null ) {
+					addSample(samples, Kind.SUBMODEL, smRef, millis);
+				}
+			}
+		}
+		if ( samples.isEmpty() ) {
+			return;
+		}
+
+		m_tx.executeWithoutResult(status -> {
+			List<Sample> sorted = samples.entrySet().stream()
+										.sorted(Map.Entry.comparingByKey())
+										.map(Map.Entry::getValue)
+										.toList();
+			insertMissing(sorted);
+			
+			Map<String,JpaTaskDurationStats> statsMap = Maps.newHashMap();
+			m_repo.findAllByIdForUpdate(samples.keySet())
+					.forEach(stats -> statsMap.put(stats.getStatsId(), stats));
+			List<JpaTaskDurationStats> updateds = samples.entrySet().stream()
+														.map(ent -> merge(statsMap.get(ent.getKey()), ent.getValue()))
+														.toList();
+			m_repo.saveAll(updateds);
+		});
+	}
+	
+	private static final String INSERT_STATS_SQL = """
+			INSERT INTO task_duration_stats (stats_id, kind, subject, sample_count, mean_millis, p50_millis,
+											p95_millis, p99_millis, sketch, updated_at)
+			VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+			ON CONFLICT (stats_id) DO NOTHING
+			""";
+	
+	/**
+	 * 주어진 표본들의 통계 행들 중 없는 것들을 빈 통계로 생성한다.
+	 * 다른 manager 인스턴스가 같은 행을 동시에 생성하더라도 제약 조건 위반이 발생하지 않도록
+	 * {@code ON CONFLICT DO NOTHING}으로 생성한다.
+	 */
+	private void insertMissing(List<Sample> samples) {
+		m_jdbc.batchUpdate(INSERT_STATS_SQL, samples, samples.size(), (ps, sample) -> {
+			JpaTaskDurationStats empty = new JpaTaskDurationStats(sample.kind(), sample.subject());
+			ps.setString(1, empty.getStatsId());
+			ps.setString(2, empty.getKind().name());
+			ps.setString(3, empty.getSubject());
+			ps.setLong(4, empty.getCount());
+			ps.setDouble(5, empty.getMeanMillis());
+			ps.setDouble(6, empty.getP50Millis());
+			ps.setDouble(7, empty.getP95Millis());
+			ps.setDouble(8, empty.getP99Millis());
+			ps.setBytes(9, empty.getSketch());
+			ps.setTimestamp(10, Timestamp.from(empty.getUpdatedAt()));
+		});
+	}
+
+	/**
+	 * 주어진 워크플로우 모델에 포함된 task들의 수행 시간 통계를 삭제한다.
+	 * 서브모델별 통계는 다른 모델들과 공유되므로 삭제하지 않는다.
+	 *
+	 * @param wfModelId	워크플로우 모델 식별자.
+	 */
+	public synchronized void removeTaskStats(String wfModelId) {
+		m_repo.deleteAll(m_repo.findByKindAndSubjectStartingWithOrderBySubject(Kind.TASK,
+																			toTaskSubject(wfModelId, "")));
+	}
+
+	public synchronized void removeAll() {
+		m_repo.deleteAll();
+	}
+
+	private static String toTaskSubject(String wfModelId, String taskId) {
+		return wfModelId + "/" + taskId;
+	}
+
+	private record Sample(Kind kind, String subject, DurationSketch sketch) { }
+
+	private static void addSample(Map<String,Sample> samples, Kind kind, String subject, long millis) {
+		samples.computeIfAbsent(JpaTaskDurationStats.toStatsId(kind, subject),
+								id -> new Sample(kind, subject, new DurationSketch()))
+				.sketch().add(millis);
+	}
+
+	private static JpaTaskDurationStats merge(@Nullable JpaTaskDurationStats stats, Sample sample) {
+		if ( stats == null ) {
+			stats = new JpaTaskDurationStats(sample.kind(), sample.subject());
+		}
+
+		DurationSketch sketch = stats.getDurationSketch();
+		sketch.merge(sample.sketch());
+		stats.update(sketch);
+		return stats;
+	}
+
+	private Map<String,String> getSubmodelReferences(String wfModelId) {
+		Map<String,String> smRefs = Maps.newHashMap();
+		try {
+			WorkflowModel wfModel = m_modelManager.getWorkflowModel(wfModelId);
+			for ( TaskDescriptor taskDesc: wfModel.getTaskDescriptors() ) {
+				if ( !AASOperationTask.class.getName().equals(taskDesc.getType()) ) {
+					continue;
+				}
+				
+				String smRef = null;
+				if ( taskDesc.getSubmodelRef() != null ) {
+					smRef = toSubmodelReference(taskDesc.getSubmodelRef().toStringExpr());
+				}
+				if ( smRef == null ) {
+					Option opt = taskDesc.getOptions().get(OPTION_OPERATION);
+					smRef = (opt != null) ? toSubmodelReference(opt.getValue()) : null;
+				}
+				if ( smRef != null ) {
+					smRefs.put(taskDesc.getId(), smRef);
+				}
+			}
+		}
+		catch ( ResourceNotFoundException e ) {
+			// 모델이 이미 삭제된 경우에는 task별 통계만 갱신한다.
+		}
+		return smRefs;
+	}
+	
+	/**
+	 * 주어진 참조 표현식의 앞 두 부분으로 '인스턴스 식별자:서브모델 idShort' 형식의 서브모델 참조를 만든다.
+	 * 
+	 * @return	서브모델 참조. 표현식이 두 부분 이상으로 구성되지 않은 경우는 {@code null}.
+	 */
+	private static @Nullable String toSubmodelReference(@Nullable String expr) {
+		if ( expr == null || expr.isBlank() ) {
+			return null;
+		}
+		
+		String[] parts = expr.trim().split(":");
+		if ( parts.length < 2 || parts[0].isBlank() || parts[1].isBlank() ) {
+			return null;
+		}
+		return parts[0].trim() + ":" + parts[1].trim();
+	}
+}
@@ -0,0 +1,289 @@
+package mdt.workflow.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import lombok.RequiredArgsConstructor;
+
+import jakarta.persistence.criteria.Predicate;
+
+import mdt.model.ResourceNotFoundException;
+import mdt.workflow.Workflow;
+import mdt.workflow.WorkflowInstanceManagerProvider;
+import mdt.workflow.WorkflowStatus;
+import mdt.workflow.config.WorkflowHistoryConfiguration;
+import mdt.workflow.domain.JpaWorkflowRun;
+import mdt.workflow.repository.JpaWorkflowRunRepository;
+
+
+/**
+ * 종료된 워크플로우 인스턴스의 수행 이력을 PostgreSQL에 저장하고 조회한다.
+ * <p>
+ * 워크플로우 백엔드 (Argo, Airflow)는 종료된 워크플로우를 garbage collection으로 제거하므로,
+ * 설정된 주기마다 백엔드에 이전 수집 이후에 종료된 워크플로우들의 목록을 질의하고,
+ * 아직 저장되지 않은 것들만 읽어 이력에 추가한다.
+ * 종료된 워크플로우는 더 이상 변경되지 않으므로, 이력에 저장된 워크플로우는 백엔드에 묻지 않고
+ * 이력에서 바로 조회할 수 있다.
+ * <p>
+ * 새로 저장된 워크플로우의 task 수행 시간은 이력 저장과 같은 트랜잭션으로 {@link TaskDurationStatsManager}의
+ * 통계에 반영된다. 여러 manager 인스턴스가 같은 DB를 사용하더라도 하나의 워크플로우는 한 인스턴스에서만
+ * 저장되고 통계에 반영된다.
+ *
+ * @author Kang-Woo Lee (ETRI)
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkflowHistoryManager implements InitializingBean, DisposableBean {
+	private static final Logger s_logger = LoggerFactory.getLogger(WorkflowHistoryManager.class);
+	/** {@link #findWorkflows}로 한번에 조회할 수 있는 최대 워크플로우 수. */
+	public static final int MAX_QUERY_SIZE = 1000;
+	private static final int REBUILD_PAGE_SIZE = 200;
+	private static final int RECORDED_QUERY_SIZE = 1000;
+	
+	private final JpaWorkflowRunRepository m_repo;
+	private final WorkflowInstanceManagerProvider m_instanceManager;
+	private final WorkflowHistoryConfiguration m_conf;
+	private final TaskDurationStatsManager m_durationStats;
+	private final JdbcTemplate m_jdbc;
+	private final PlatformTransactionManager m_txManager;
+	private TransactionTemplate m_tx;
+	private ScheduledExecutorService m_scheduler;
+	// 마지막 수집에서 확인된 가장 늦은 종료 시각. 아직 수집하지 않은 경우는 null.
+	private volatile LocalDateTime m_watermark = null;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		m_tx = new TransactionTemplate(m_txManager);
+		
+		long intervalMillis = m_conf.getPollInterval().toMillis();
+		if ( intervalMillis > 0 ) {
+			m_scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "workflow-history-collector");
+				thread.setDaemon(true);
+				return thread;
+			});
+			m_scheduler.scheduleWithFixedDelay(this::collect, intervalMillis, intervalMillis,
+												TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if ( m_scheduler != null ) {
+			m_scheduler.shutdownNow();
+		}
+	}
+	
+	/**
+	 * 주어진 워크플로우가 종료된 경우, 아직 저장되지 않았으면 이력에 저장한다.
+	 * 
+	 * @param wf	워크플로우 인스턴스.
+	 */
+	public void record(Workflow wf) {
+		if ( isFinished(wf) && !m_repo.existsById(wf.getName()) ) {
+			save(List.of(wf));
+		}
+	}
+	
+	/**
+	 * 이력에 저장된 워크플로우를 반환한다.
+	 * 
+	 * @param wfId	워크플로우 식별자.
+	 * @return	이력에 저장된 워크플로우. 저장되지 않은 경우는 {@link Optional#empty()}.
+	 */
+	public Optional<Workflow> findWorkflow(String wfId) {
+		return m_repo.findById(wfId).map(JpaWorkflowRun::asWorkflow);
+	}
+	
+	/**
+	 * 주어진 조건을 만족하는 워크플로우 이력을 최근에 종료된 것부터 반환한다.
+	 * 
+	 * @param modelId	워크플로우 모델 식별자. {@code null}인 경우는 모든 모델.
+	 * @param status	종료 상태. {@code null}인 경우는 모든 상태.
+	 * @param from		종료 시각 하한 (포함). {@code null}인 경우는 제한 없음.
+	 * @param to		종료 시각 상한 (제외). {@code null}인 경우는 제한 없음.
+	 * @param limit		최대 워크플로우 수 (1 ~ {@link #MAX_QUERY_SIZE}).
+	 * @return	워크플로우 목록.
+	 */
+	public List<Workflow> findWorkflows(@Nullable String modelId, @Nullable WorkflowStatus status,
+										@Nullable LocalDateTime from, @Nullable LocalDateTime to, int limit) {
+		Preconditions.checkArgument(limit > 0 && limit <= MAX_QUERY_SIZE,
+									"invalid limit: %s (1 ~ %s)", limit, MAX_QUERY_SIZE);
+		
+		Specification<JpaWorkflowRun> spec = (root, query, cb) -> {
+			List<Predicate> preds = Lists.newArrayList();
+			if ( modelId != null ) {
+				preds.add(cb.equal(root.get("modelId"), modelId));
+			}
+			if ( status != null ) {
+				preds.add(cb.equal(root.get("status"), status));
+			}
+			if ( from != null ) {
+				preds.add(cb.greaterThanOrEqualTo(root.get("finishTime"), from));
+			}
+			if ( to != null ) {
+				preds.add(cb.lessThan(root.get("finishTime"), to));
+			}
+			return cb.and(preds.toArray(Predicate[]::new));
+		};
+		PageRequest page = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "finishTime"));
+		return m_repo.findAll(spec, page).stream()
+					.map(JpaWorkflowRun::asWorkflow)
+					.toList();
+	}
+	
+	/**
+	 * 주어진 워크플로우의 이력을 삭제한다.
+	 * 
+	 * @param wfId	워크플로우 식별자.
+	 */
+	public void remove(String wfId) {
+		m_repo.deleteById(wfId);
+	}
+	
+	/**
+	 * 주어진 워크플로우들의 이력을 삭제한다.
+	 * 
+	 * @param wfIds	워크플로우 식별자 목록.
+	 */
+	public void removeAll(Collection<String> wfIds) {
+		m_repo.deleteAllByIdInBatch(wfIds);
+	}
+	
+	/**
+	 * task 수행 시간 통계를 모두 삭제하고 이력에 저장된 모든 워크플로우로부터 다시 계산한다.
+	 * 
+	 * @return	통계 계산에 사용된 워크플로우 수.
+	 */
+	public synchronized int rebuildDurationStats() {
+		m_durationStats.removeAll();
+		
+		int count = 0;
+		for ( int pageNo = 0;; ++pageNo ) {
+			PageRequest page = PageRequest.of(pageNo, REBUILD_PAGE_SIZE, Sort.by("workflowId"));
+			List<Workflow> wfs = m_repo.findAll(page).stream()
+										.map(JpaWorkflowRun::asWorkflow)
+										.toList();
+			m_durationStats.update(wfs);
+			count += wfs.size();
+			
+			if ( wfs.size() < REBUILD_PAGE_SIZE ) {
+				return count;
+			}
+		}
+	}
+	
+	/**
+	 * 워크플로우 백엔드로부터 이전 수집 이후에 종료된 워크플로우들의 목록을 읽어, 아직 저장되지 않은 것들을
+	 * 이력에 저장한다. task 정보를 포함한 워크플로우 정보는 저장되지 않은 워크플로우에 대해서만 읽는다.
+	 * <p>
+	 * 수집에 실패하더라도 수집 기준 시각이 갱신되지 않아 다음 주기에 다시 수집되므로 오류는 기록만 한다.
+	 */
+	private void collect() {
+		try {
+			// 백엔드에 늦게 반영된 종료 워크플로우를 놓치지 않도록 한 주기만큼 겹쳐서 질의한다.
+			LocalDateTime since = (m_watermark != null) ? m_watermark.minus(m_conf.getPollInterval()) : null;
+			Map<String,LocalDateTime> finisheds = m_instanceManager.listFinishedWorkflows(since);
+			if ( finisheds.isEmpty() ) {
+				return;
+			}
+			
+			Set<String> recorded = new HashSet<>();
+			for ( List<String> ids: Lists.partition(List.copyOf(finisheds.keySet()), RECORDED_QUERY_SIZE) ) {
+				recorded.addAll(m_repo.findRecordedIds(ids));
+			}
+			List<Workflow> added = Lists.newArrayList();
+			for ( String wfId: finisheds.keySet() ) {
+				if ( !recorded.contains(wfId) ) {
+					try {
+						Workflow wf = m_instanceManager.getWorkflow(wfId);
+						if ( isFinished(wf) ) {
+							added.add(wf);
+						}
+					}
+					catch ( ResourceNotFoundException e ) {
+						// 목록을 읽은 이후에 제거된 워크플로우는 무시한다.
+					}
+				}
+			}
+			
+			int count = added.isEmpty() ? 0 : save(added);
+			if ( count > 0 ) {
+				s_logger.info("recorded finished workflows: count={}", count);
+			}
+			m_watermark = Collections.max(finisheds.values());
+		}
+		catch ( Exception e ) {
+			s_logger.warn("failed to collect finished workflows: cause={}", "" + e);
+		}
+	}
+	
+	private static final String INSERT_RUN_SQL = """
+			INSERT INTO workflow_runs (workflow_id, model_id, status, creation_time, start_time, finish_time,
+										workflow_json)
+			VALUES (?, ?, ?, ?, ?, ?, ?)
+			ON CONFLICT (workflow_id) DO NOTHING
+			RETURNING workflow_id
+			""";
+	
+	/**
+	 * 주어진 종료 워크플로우들 중에서 아직 저장되지 않은 것들을 이력에 저장하고,
+	 * 이번에 저장된 워크플로우들의 task 수행 시간을 통계에 반영한다.
+	 * <p>
+	 * 저장과 통계 반영은 하나의 트랜잭션으로 수행되므로, 통계 반영에 실패하면 저장도 취소되어
+	 * 다음 수집에서 다시 시도된다. 다른 manager 인스턴스가 같은 워크플로우를 동시에 저장하는 경우에는
+	 * {@code ON CONFLICT DO NOTHING}에 의해 한 인스턴스만 저장하므로 통계에도 한번만 반영된다.
+	 * 같은 인스턴스 안에서는 통계 재계산 ({@link #rebuildDurationStats()})과 겹치지 않도록 직렬화된다.
+	 * 
+	 * @return	새로 저장된 워크플로우 수.
+	 */
+	private synchronized int save(List<Workflow> wfs) {
+		List<Workflow> added = m_tx.execute(status -> {
+			List<Workflow> inserteds = wfs.stream().filter(this::insert).toList();
+			if ( !inserteds.isEmpty() ) {
+				m_durationStats.update(inserteds);
+			}
+			return inserteds;
+		});
+		return added.size();
+	}
+	
+	private boolean insert(Workflow wf) {
+		JpaWorkflowRun run = new JpaWorkflowRun(wf);
+		List<String> inserted = m_jdbc.queryForList(INSERT_RUN_SQL, String.class, run.getWorkflowId(),
+													run.getModelId(), run.getStatus().name(),
+													run.getCreationTime(), run.getStartTime(),
+													run.getFinishTime(), run.getWorkflowJson());
+		return !inserted.isEmpty();
+	}
+	
+	private static boolean isFinished(Workflow wf) {
+		return (wf.getStatus() == WorkflowStatus.COMPLETED || wf.getStatus() == WorkflowStatus.FAILED)
+				&& wf.getFinishTime() != null;
+	}
+}